@@ -4,12 +4,15 @@ import freemarker.template.Configuration;
 import freemarker.template.TemplateException;
 import io.github.qudtlib.common.CodeGen;
 import io.github.qudtlib.common.RdfOps;
+import io.github.qudtlib.init.ModelSnapshotWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 /**
@@ -21,6 +24,10 @@ import java.util.regex.Pattern;
  * subsequently be used to initialize the internal model (as is done in module <code>qudtlib</code>
  * ).
  *
+ * <p>The generated class does not contain code for each individual. It holds the model as a
+ * snapshot written by {@link ModelSnapshotWriter}, embedded in string constants, and reads it with
+ * {@link io.github.qudtlib.init.ModelSnapshotReader}.
+ *
  * @author Florian Kleedorfer
  * @version 1.0
  */
@@ -31,6 +38,9 @@ public class HardcodedModelGenerator {
     private static final String FILENAME = "InitializerImpl.java";
     // template
     private static final String TEMPLATE_FILE = "template/InitializerImpl.ftl";
+    // a string constant may hold up to 65535 bytes in modified UTF-8, where chars 0 and 0x80-0xff
+    // take two bytes
+    static final int CHUNK_SIZE = 16 * 1024;
 
     public HardcodedModelGenerator(Path outputDir) {
         this.outputDir = outputDir;
@@ -60,16 +70,44 @@ public class HardcodedModelGenerator {
     }
 
     private void generateInitializer(Configuration config) throws IOException, TemplateException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        new ModelSnapshotWriter(
+                        Qudt.getPrefixesMap().values(),
+                        Qudt.getSystemsOfUnitsMap().values(),
+                        Qudt.getQuantityKindsMap().values(),
+                        Qudt.getUnitsMap().values(),
+                        Qudt.getConstantValuesMap().values(),
+                        Qudt.getPhysicalConstantsMap().values())
+                .write(snapshot);
+        byte[] bytes = snapshot.toByteArray();
         Map<String, Object> templateVars = new HashMap<>();
-        templateVars.put("prefixes", new TreeMap<>(Qudt.getPrefixesMap()));
-        templateVars.put("quantityKinds", new TreeMap<>(Qudt.getQuantityKindsMap()));
-        templateVars.put("units", new TreeMap<>(Qudt.getUnitsMap()));
-        templateVars.put("systemsOfUnits", new TreeMap<>(Qudt.getSystemsOfUnitsMap()));
-        templateVars.put("constantValues", new TreeMap<>(Qudt.getConstantValuesMap()));
-        templateVars.put("physicalConstants", new TreeMap<>(Qudt.getPhysicalConstantsMap()));
+        templateVars.put("snapshotLength", bytes.length);
+        templateVars.put("snapshotChunks", toStringLiterals(bytes));
         generateJavaFile(config, templateVars);
     }
 
+    /**
+     * Encodes the bytes as the contents of Java string literals, one char per byte, each literal
+     * holding at most {@link #CHUNK_SIZE} bytes. Bytes that are not printable ASCII are written as
+     * octal escapes, as unicode escapes would be translated before the literal is parsed.
+     */
+    static List<String> toStringLiterals(byte[] bytes) {
+        List<String> literals = new ArrayList<>();
+        for (int start = 0; start < bytes.length; start += CHUNK_SIZE) {
+            StringBuilder literal = new StringBuilder();
+            for (int i = start; i < Math.min(bytes.length, start + CHUNK_SIZE); i++) {
+                int b = bytes[i] & 0xff;
+                if (b < 0x20 || b > 0x7e || b == '"' || b == '\\') {
+                    literal.append(String.format("\\%03o", b));
+                } else {
+                    literal.append((char) b);
+                }
+            }
+            literals.add(literal.toString());
+        }
+        return literals;
+    }
+
     private void generateJavaFile(Configuration config, Map<String, Object> templateVars)
             throws IOException, TemplateException {
         RdfOps.message("Generating " + FILENAME);
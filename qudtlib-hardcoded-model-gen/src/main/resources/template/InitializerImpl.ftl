@@ -1,275 +1,37 @@
 package io.github.qudtlib.init;
 
-import java.math.BigDecimal;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Supplier;
-import io.github.qudtlib.model.*;
-
-<#-- null constant -->
-<#assign null = "null" >
-<#-- quote the value str with double quotes and escape its contents for insertion in a java string-->
-<#function q str>
-    <#return "\"" + str?j_string + "\"" >
-</#function>
-<#-- optional String -->
-<#function optStr optVal>
-    <#return optVal.isPresent()?then(q(optVal.get()), null) >
-</#function>
-<#-- required iri property of optional value-->
-<#function optValIri optVal>
-    <#return optVal.isPresent()?then(q(optVal.get().iri), null) >
-</#function>
-
-
-<#-- nullable String -->
-<#function nullableStr nVal="">
-    <#if nVal?has_content>
-        <#return q(nVal) >
-    <#else >
-        <#return null >
-    </#if>
-</#function>
-
-<#-- optional numeric literal, e.g. Optional<Double> -->
-<#function optNum optVal>
-    <#return optVal.isPresent()?then(optVal.get()?string.computer, null) >
-</#function>
-
-<#-- non-nullable bigdecimal -->
-<#function bigDec val>
-    <#return "new BigDecimal(\"" + val?string.@toString + "\")" >
-</#function>
-
-<#-- optional numeric literal, e.g. Optional<Double> -->
-<#function optBigDec optVal>
-    <#return optVal.isPresent()?then(bigDec(optVal.get()), null) >
-</#function>
-
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+<#--
+    The model is stored as a snapshot (see ModelSnapshotWriter): a string pool followed by records
+    that refer to the strings by index. Its bytes are embedded as string constants, one char per
+    byte, because array initializers of that size would exceed the bytecode limit of the static
+    initializer. ModelSnapshotReader then builds the definitions from the records in a loop.
+-->
 public class InitializerImpl implements Initializer {
+    private static final int SNAPSHOT_LENGTH = ${snapshotLength?c};
 
-        @Override
-        public Definitions loadData() {
-            Definitions definitions = new Definitions();
-            populateUnitDefinitions(definitions);
-            populateQuantityKindDefinitions(definitions);
-            populatePrefixDefinitions(definitions);
-            populateFactorUnits(definitions);
-            populateSystemOfUnitsDefinitions(definitions);
-            populateConstantValueDefinitions(definitions);
-            populatePhysicalConstantDefinitions(definitions);
-            return definitions;
-        }
-
-    private void populateUnitDefinitions(Definitions definitions) {
-        <#list units as iri, unit>
-        addUnit${iri?index?c}(definitions);
-        </#list>
-    }
-
-    <#list units as iri, unit>
-    private static void addUnit${iri?index?c}(Definitions definitions) {
-        Unit.Definition def = Unit
-            .definition(${q(iri)})
-            .dependents(${unit.dependents})
-            <#if unit.isDeprecated()>
-            .deprecated(true)
-            </#if>
-            <#if unit.isGenerated()>
-            .generated(true)
-            </#if>
-            <#if unit.prefix.isPresent() >
-            .prefix(definitions.expectPrefixDefinition(${optValIri(unit.prefix)}))
-            </#if>
-            <#if unit.scalingOf.isPresent() >
-            .scalingOf(definitions.expectUnitDefinition(${optValIri(unit.scalingOf)}))
-            </#if>
-            <#if unit.dimensionVectorIri.isPresent()>
-            .dimensionVectorIri(${optStr(unit.dimensionVectorIri)})
-            </#if>
-            <#if unit.conversionMultiplier.isPresent()>
-            .conversionMultiplier(${optBigDec(unit.conversionMultiplier)})
-            </#if>
-            <#if unit.conversionOffset.isPresent()>
-            .conversionOffset(${optBigDec(unit.conversionOffset)})
-            </#if>
-            <#if unit.symbol.isPresent()>
-            .symbol(${optStr(unit.symbol)})
-            </#if>
-            <#list unit.altSymbols as altSymbol>
-            .altSymbol(${q(altSymbol)})
-            </#list>
-            <#if unit.description.isPresent()>
-            .description(${optStr(unit.description)})
-            </#if>
-            <#if unit.ucumCode.isPresent()>
-            .ucumCode(${optStr(unit.ucumCode)})
-            </#if>
-            <#if unit.currencyCode.isPresent()>
-            .currencyCode(${optStr(unit.currencyCode)})
-            </#if>
-            <#if unit.currencyNumber.isPresent()>
-            .currencyNumber(${optNum(unit.currencyNumber)})
-            </#if>
-            <#list unit.labels as label>
-            .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-            </#list>
-            <#list unit.quantityKinds as quantityKind>
-            .addQuantityKind(definitions.expectQuantityKindDefinition(${q(quantityKind.iri)}))
-            </#list>
-            <#list unit.unitOfSystems as sou>
-            .addSystemOfUnits(definitions.expectSystemOfUnitsDefinition(${q(sou.iri)}))
-            </#list>
-            <#list unit.exactMatches as exactMatch>
-            .addExactMatch(definitions.expectUnitDefinition(${q(exactMatch.iri)}))
-            </#list>
-            ;
-        definitions.addUnitDefinition(def);
-    }
-    </#list>
-
-    private void populateQuantityKindDefinitions(Definitions definitions) {
-        <#list quantityKinds as iri, quantityKind>
-        addQuantityKind${iri?index?c}(definitions);
-        </#list>
-    }
-
-    <#list quantityKinds as iri, quantityKind>
-    private static void addQuantityKind${iri?index?c}(Definitions definitions){
-        QuantityKind.Definition def =
-            QuantityKind
-                .definition(${q(iri)})
-                .dimensionVectorIri(${optStr(quantityKind.dimensionVectorIri)})
-                .qkdvNumeratorIri(${optStr(quantityKind.qkdvNumeratorIri)})
-                .qkdvDenominatorIri(${optStr(quantityKind.qkdvDenominatorIri)})
-                <#if quantityKind.isDeprecated()>
-                    .deprecated(true)
-                </#if>
-                <#if quantityKind.symbol.isPresent()>
-                .symbol(${optStr(quantityKind.symbol)})
-                </#if>
-                <#if quantityKind.description.isPresent()>
-                .description(${optStr(quantityKind.description)})
-                </#if>
-                <#list quantityKind.labels as label>
-                .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-                </#list>
-                <#list quantityKind.applicableUnits as unit>
-                .addApplicableUnit(definitions.expectUnitDefinition(${q(unit.iri)}))
-                </#list>
-                <#list quantityKind.broaderQuantityKinds as qk>
-                .addBroaderQuantityKind(definitions.expectQuantityKindDefinition(${q(qk.iri)}))
-                </#list>
-                <#list quantityKind.exactMatches as exactMatch>
-                .addExactMatch(definitions.expectQuantityKindDefinition(${q(exactMatch.iri)}))
-                </#list>
-                ;
-        definitions.addQuantityKindDefinition(def);
-    }
-    </#list>
-
-    private void populatePrefixDefinitions(Definitions definitions) {
-        Prefix.Definition def =  null;
-        <#list prefixes as iri, prefix>
-            def = Prefix
-                    .definition(${q(iri)})
-                    .multiplier(${bigDec(prefix.multiplier)})
-                    .symbol(${q(prefix.symbol)})
-                    .ucumCode((String) ${optStr(prefix.ucumCode)})
-                    <#list prefix.labels as label>
-                    .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-                    </#list>
-                    ;
-            definitions.addPrefixDefinition(def);
+    private static final String[] SNAPSHOT_CHUNKS = {
+        <#list snapshotChunks as chunk>
+        "${chunk}"<#sep>,</#sep>
         </#list>
-    }
-
-    private void populateFactorUnits(Definitions definitions) {
-        <#list units as iri, unit>
-            <#if unit.hasFactorUnits()>
-            setFactorUnits${iri?counter?c}(definitions);
-            </#if>
-        </#list>
-    }
-
-    private static Supplier<? extends RuntimeException> exceptionSupplier(String iri){
-        return () -> new IllegalStateException("Not found: " + iri);
-    }
-
-    <#list units as iri, unit>
-        <#if unit.hasFactorUnits()>
-        private static void setFactorUnits${iri?counter?c}(Definitions definitions){
-            String iri = "${iri}";
-            var builder = FactorUnits.builder();
-            builder.scaleFactor(${bigDec(unit.factorUnits.scaleFactor)});
-            <#list unit.factorUnits.factorUnits as factorUnit>
-            builder.factor(
-                FactorUnit
-                    .builder()
-                    .unit(definitions.expectUnitDefinition("${factorUnit.unit.iri}"))
-                    .exponent(${factorUnit.exponent}));
-            </#list>
-            Unit.Definition def =
-                definitions
-                    .getUnitDefinition(iri)
-                    .orElseThrow(exceptionSupplier(iri))
-                    .setFactorUnits(builder);
+    };
+
+    @Override
+    public Definitions loadData() {
+        byte[] snapshot = new byte[SNAPSHOT_LENGTH];
+        int offset = 0;
+        for (String chunk : SNAPSHOT_CHUNKS) {
+            byte[] bytes = chunk.getBytes(StandardCharsets.ISO_8859_1);
+            System.arraycopy(bytes, 0, snapshot, offset, bytes.length);
+            offset += bytes.length;
         }
-        </#if>
-    </#list>
-
-    private void populateSystemOfUnitsDefinitions(Definitions definitions) {
-        SystemOfUnits.Definition def =  null;
-        <#list systemsOfUnits as iri, sou>
-            def = SystemOfUnits
-                .definition(${q(iri)})
-                .abbreviation(${optStr(sou.abbreviation)})
-                <#list sou.labels as label>
-                .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-                </#list>
-                <#list sou.baseUnits as baseUnit>
-                .addBaseUnit(definitions.expectUnitDefinition(${q(baseUnit.iri)}))
-                </#list>
-                ;
-            definitions.addSystemOfUnitsDefinition(def);
-        </#list>
-    }
-
-    private void populateConstantValueDefinitions(Definitions definitions) {
-        ConstantValue.Definition def =  null;
-        <#list constantValues as iri, cv>
-            def = ConstantValue.definition(${q(iri)})
-                <#list cv.labels as label>
-                .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-                </#list>
-                <#if cv.isDeprecated()>
-                .deprecated(true)
-                </#if>
-                .value(${bigDec(cv.value)})
-                .standardUncertainty((BigDecimal) ${optBigDec(cv.standardUncertainty)})
-                .unit(definitions.expectUnitDefinition(${q(cv.unit.iri)}));
-            definitions.addConstantValueDefinition(def);
-        </#list>
-    }
-
-
-    private void populatePhysicalConstantDefinitions(Definitions definitions) {
-        PhysicalConstant.Definition def =  null;
-        <#list physicalConstants as iri, pc>
-            def = PhysicalConstant.definition(${q(iri)})
-                <#list pc.labels as label>
-                .addLabel(new LangString(${q(label.string)}, ${optStr(label.languageTag)}))
-                </#list>
-                <#if pc.isDeprecated()>
-                .deprecated(true)
-                </#if>
-                <#if pc.description.isPresent()>
-                    .description(${optStr(pc.description)})
-                </#if>
-                .constantValue(definitions.expectConstantValueDefinition(${q(pc.constantValue.iri)}))
-                .quantityKind(definitions.expectQuantityKindDefinition(${q(pc.quantityKind.iri)}));
-            definitions.addPhysicalConstantDefinition(def);
-        </#list>
+        if (offset != SNAPSHOT_LENGTH) {
+            throw new IllegalStateException(
+                    String.format(
+                            "Model snapshot has %d bytes, expected %d", offset, SNAPSHOT_LENGTH));
+        }
+        return ModelSnapshotReader.read(ByteBuffer.wrap(snapshot));
     }
 }
-
@@ -0,0 +1,101 @@
+package io.github.qudtlib;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class HardcodedModelGeneratorTest {
+    private static final int CHUNK_SIZE = HardcodedModelGenerator.CHUNK_SIZE;
+
+    @Test
+    public void testAllByteValues() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertRoundTrip(bytes);
+    }
+
+    @Test
+    public void testEscapesFollowedByDigits() {
+        // an octal escape takes up to three digits, so digits after an escape must not be consumed
+        assertRoundTrip(new byte[] {0x00, '1', 0x22, '7', 0x5c, 'u', '0', (byte) 0x80, '3'});
+        assertRoundTrip(new byte[] {0x5c, 0x5c, 0x22, (byte) 0xff, (byte) 0xff, 0x00});
+    }
+
+    @Test
+    public void testChunkBoundaries() {
+        assertEquals(List.of(), HardcodedModelGenerator.toStringLiterals(new byte[0]));
+        for (int length :
+                new int[] {1, CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 2 * CHUNK_SIZE + 1}) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = (byte) (i * 31);
+            }
+            List<String> literals = assertRoundTrip(bytes);
+            assertEquals((length + CHUNK_SIZE - 1) / CHUNK_SIZE, literals.size());
+        }
+    }
+
+    @Test
+    public void testChunksFitInStringConstants() {
+        // chars 0 and 0x80-0xff take two bytes in the modified UTF-8 of the class file
+        byte[] bytes = new byte[CHUNK_SIZE];
+        Arrays.fill(bytes, (byte) 0xff);
+        for (String literal : assertRoundTrip(bytes)) {
+            assertTrue(2 * decode(literal).length <= 65535);
+        }
+    }
+
+    private static List<String> assertRoundTrip(byte[] bytes) {
+        List<String> literals = HardcodedModelGenerator.toStringLiterals(bytes);
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        for (String literal : literals) {
+            byte[] chunk = decode(literal);
+            assertTrue(chunk.length <= CHUNK_SIZE);
+            decoded.writeBytes(chunk);
+        }
+        assertArrayEquals(bytes, decoded.toByteArray());
+        return literals;
+    }
+
+    /**
+     * Decodes the contents of a string literal like the compiler does, one byte per char. Only
+     * printable ASCII and octal escapes are accepted, as unicode escapes would be translated before
+     * the literal is parsed.
+     */
+    private static byte[] decode(String literal) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int i = 0;
+        while (i < literal.length()) {
+            char c = literal.charAt(i);
+            assertTrue(c >= 0x20 && c <= 0x7e, "not printable ASCII: " + (int) c);
+            assertTrue(c != '"', "unescaped quote");
+            if (c != '\\') {
+                out.write(c);
+                i++;
+                continue;
+            }
+            // OctalEscape: \ZeroToThree OctalDigit OctalDigit, or at most two digits otherwise
+            int start = i + 1;
+            int maxEnd = start + (literal.charAt(start) <= '3' ? 3 : 2);
+            int end = start;
+            while (end < Math.min(maxEnd, literal.length()) && isOctalDigit(literal.charAt(end))) {
+                end++;
+            }
+            assertTrue(end > start, "not an octal escape at " + i);
+            out.write(Integer.parseInt(literal.substring(start, end), 8));
+            i = end;
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isOctalDigit(char c) {
+        return c >= '0' && c <= '7';
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.qudtlib.init;
+
+import io.github.qudtlib.exception.QudtInitializationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * Initializes the QUDTLib model from the binary snapshot generated at build time (see {@link
+ * ModelSnapshotWriter}).
+ *
+ * <p>If the snapshot is a file on the classpath, it is memory-mapped; if it is packaged in a jar,
+ * it is read into a heap buffer.
+ */
+public class InitializerImpl implements Initializer {
+    static final String SNAPSHOT_RESOURCE = "io/github/qudtlib/init/qudtlib-model.snapshot";
+
+    @Override
+    public Definitions loadData() {
+        URL url = InitializerImpl.class.getClassLoader().getResource(SNAPSHOT_RESOURCE);
+        if (url == null) {
+            throw new QudtInitializationException(
+                    "Classpath resource not found, cannot read model snapshot from "
+                            + SNAPSHOT_RESOURCE);
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return ModelSnapshotReader.read(Path.of(url.toURI()));
+            }
+            try (InputStream in = url.openStream()) {
+                return ModelSnapshotReader.read(in);
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            throw new QudtInitializationException("Error loading model snapshot from " + url, e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.model.FactorUnits;
+import io.github.qudtlib.model.Unit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks units by how well they match the requested factor units, the best match first.
+ *
+ * <p>Everything the ranking needs is computed once per query (for the requested factor units) and
+ * once per candidate, and folded into three sort keys, so that sorting does not recompute any of
+ * it. Two criteria compare properties of both units with each other (a unit being just another name
+ * for the other one, and a unit having many more dependents than the other one); they are evaluated
+ * between the sort keys in the order they always had.
+ */
+final class BestMatchRanking {
+    private static final int MAX_KEY_COMPONENT = 0xFFFF;
+
+    private final FactorUnits requested;
+    private final FactorUnits requestedNormalized;
+    private final int requestedExpandedNumeratorSize;
+    private final int requestedExpandedDenominatorSize;
+    private final int requestedExpandedSize;
+
+    BestMatchRanking(FactorUnits requested) {
+        this.requested = requested;
+        this.requestedNormalized = requested.normalize();
+        this.requestedExpandedNumeratorSize = requested.numerator().expand().size();
+        this.requestedExpandedDenominatorSize = requested.denominator().expand().size();
+        this.requestedExpandedSize = requested.expand().size();
+    }
+
+    /**
+     * Returns the units ordered from best to worst match. Units that rank equally keep their
+     * relative order.
+     */
+    List<Unit> sort(Collection<Unit> units, Function<Unit, UnitRankingFeatures> features) {
+        List<Candidate> candidates = new ArrayList<>(units.size());
+        for (Unit unit : units) {
+            candidates.add(candidate(features.apply(unit)));
+        }
+        candidates.sort(this::compare);
+        return candidates.stream().map(c -> c.features.getUnit()).collect(Collectors.toList());
+    }
+
+    /** Returns the best match, the first one encountered if several rank equally. */
+    Optional<Unit> best(Collection<Unit> units, Function<Unit, UnitRankingFeatures> features) {
+        Candidate best = null;
+        for (Unit unit : units) {
+            Candidate candidate = candidate(features.apply(unit));
+            if (best == null || compare(candidate, best) < 0) {
+                best = candidate;
+            }
+        }
+        return Optional.ofNullable(best).map(c -> c.features.getUnit());
+    }
+
+    Comparator<Unit> comparator(Function<Unit, UnitRankingFeatures> features) {
+        return (left, right) ->
+                compare(candidate(features.apply(left)), candidate(features.apply(right)));
+    }
+
+    private Candidate candidate(UnitRankingFeatures features) {
+        FactorUnits factorUnits = features.getUnit().getFactorUnits();
+        // prefer a unit that matches the factors exactly, then a non-deprecated unit, then a unit
+        // that was not generated as a missing factor unit
+        int primaryKey =
+                (factorUnits.equals(requested) ? 0 : 4)
+                        | (features.isDeprecated() ? 2 : 0)
+                        | (features.isGenerated() ? 1 : 0);
+        // prefer a derived unit with a new name (such as W, J, N etc.), then the unit whose
+        // (denominator, numerator, all) factor count is closest to the requested one
+        int denominatorDistance =
+                distance(requestedExpandedDenominatorSize, features.getExpandedDenominatorSize());
+        int numeratorDistance =
+                distance(requestedExpandedNumeratorSize, features.getExpandedNumeratorSize());
+        int factorCountDistance = distance(requestedExpandedSize, features.getExpandedSize());
+        long factorCountKey =
+                (features.isLocalnameWithHyphen() ? 1L << 48 : 0L)
+                        | (long) denominatorDistance << 32
+                        | (long) numeratorDistance << 16
+                        | factorCountDistance;
+        // prefer a unit whose localname is made of the requested factors, then a unit without
+        // modifier in one of its components, then a unit that matches the normalized factors
+        int underscoreCount = Math.min(features.getUnderscoreCount(), MAX_KEY_COMPONENT);
+        int secondaryKey =
+                (requested.isLocalnamePossibility(features.getLocalname()) ? 0 : 1 << 30)
+                        | underscoreCount << 1
+                        | (factorUnits.equals(requestedNormalized) ? 0 : 1);
+        return new Candidate(features, primaryKey, factorCountKey, secondaryKey);
+    }
+
+    private static int distance(int requestedSize, int size) {
+        return Math.min(Math.abs(requestedSize - size), MAX_KEY_COMPONENT);
+    }
+
+    private int compare(Candidate left, Candidate right) {
+        int result = Integer.compare(left.primaryKey, right.primaryKey);
+        if (result != 0) {
+            return result;
+        }
+        result = compareDefinedAsOtherUnit(left.features, right.features);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(left.factorCountKey, right.factorCountKey);
+        if (result != 0) {
+            return result;
+        }
+        result = compareDependents(left.features, right.features);
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(left.secondaryKey, right.secondaryKey);
+        if (result != 0) {
+            return result;
+        }
+        return left.features.getLocalname().compareTo(right.features.getLocalname());
+    }
+
+    /**
+     * If a unit is just another name of another unit with same exponent, prefer the other (thus L
+     * would be preferred over DeciM3).
+     */
+    private static int compareDefinedAsOtherUnit(
+            UnitRankingFeatures left, UnitRankingFeatures right) {
+        if (right.isDefinedAsOtherUnit()
+                && left.getFactorUnitCount() == 1
+                && right.getUnit().equals(left.getFirstFactorUnit())
+                && right.getFirstFactorExponent() == left.getFirstFactorExponent()) {
+            return -1;
+        }
+        if (left.isDefinedAsOtherUnit()
+                && left.getFactorUnitCount() == 1
+                && left.getUnit().equals(right.getFirstFactorUnit())
+                && right.getFirstFactorExponent() == left.getFirstFactorExponent()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Prefer a unit that has more dependents (other units that refer to it as their factor unit or
+     * base unit).
+     */
+    private static int compareDependents(UnitRankingFeatures left, UnitRankingFeatures right) {
+        if (left.getDependents() >= 10 && left.getDependents() > 2 * right.getDependents()) {
+            return -1;
+        } else if (right.getDependents() >= 10
+                && right.getDependents() > 2 * left.getDependents()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private static final class Candidate {
+        private final UnitRankingFeatures features;
+        private final int primaryKey;
+        private final long factorCountKey;
+        private final int secondaryKey;
+
+        Candidate(
+                UnitRankingFeatures features,
+                int primaryKey,
+                long factorCountKey,
+                int secondaryKey) {
+            this.features = features;
+            this.primaryKey = primaryKey;
+            this.factorCountKey = factorCountKey;
+            this.secondaryKey = secondaryKey;
+        }
+    }
+}
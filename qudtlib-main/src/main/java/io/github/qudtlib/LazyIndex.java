@@ -0,0 +1,77 @@
+package io.github.qudtlib;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Guards an index that is built on first use. The index is built at most once (unless building
+ * fails), and everything written while building it is visible to all threads that find it built.
+ *
+ * <p>Building happens in two steps. The data the index is built from is prepared first, without
+ * holding a lock, because preparing may run tasks on the common fork-join pool: a worker that waits
+ * for such a task may run unrelated tasks meanwhile, which may use the index themselves. Threads
+ * that use the index before it is built therefore may prepare the data concurrently. The index is
+ * then filled from the prepared data while holding this object's lock, by the first thread only.
+ * Filling must neither wait for other tasks nor use the index; using the index from the filling
+ * thread fails with an {@link IllegalStateException}.
+ *
+ * <p>Readers call {@link #ensureBuilt()} before reading the index, which costs a volatile read once
+ * the index is built. Code that changes the data the index is built from must call {@link
+ * #ifBuilt(Runnable)} to update the index, which does nothing if it has not been built yet.
+ *
+ * @param <T> the type of the prepared data
+ */
+final class LazyIndex<T> {
+    private final Supplier<T> prepare;
+    private final Consumer<T> fill;
+    private volatile boolean built = false;
+    /* The thread filling the index, guarded by this. */
+    private Thread filling;
+
+    LazyIndex(Supplier<T> prepare, Consumer<T> fill) {
+        this.prepare = prepare;
+        this.fill = fill;
+    }
+
+    /** Creates an index that is built in one step, while holding the lock. */
+    LazyIndex(Runnable build) {
+        this(() -> null, data -> build.run());
+    }
+
+    void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        T data = prepare.get();
+        synchronized (this) {
+            checkNotFilling();
+            if (!built) {
+                filling = Thread.currentThread();
+                try {
+                    fill.accept(data);
+                    built = true;
+                } finally {
+                    filling = null;
+                }
+            }
+        }
+    }
+
+    boolean isBuilt() {
+        return built;
+    }
+
+    /** Runs the update if the index has been built, waiting for a build in progress to finish. */
+    synchronized void ifBuilt(Runnable update) {
+        checkNotFilling();
+        if (built) {
+            update.run();
+        }
+    }
+
+    private void checkNotFilling() {
+        if (filling == Thread.currentThread()) {
+            throw new IllegalStateException("Index used by the thread that is building it");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.qudtlib;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the independent parts of building Qudt's indexes on the common fork-join pool, or on the
+ * calling thread if parallel indexing is disabled (see {@link Qudt#setParallelIndexing(boolean)}).
+ *
+ * <p>The results do not depend on the mode: per-unit results are returned in the order of the
+ * input, and the indexes are filled from them sequentially.
+ *
+ * <p>Callers must not hold locks while running work here: a worker that waits for the results may
+ * run unrelated tasks from the pool meanwhile, which may need the same locks (see {@link
+ * LazyIndex}).
+ */
+final class ParallelIndexing {
+    static final String PROPERTY = "qudtlib.parallelIndexing";
+
+    /* Below this many items, the overhead of splitting the work outweighs the gain. */
+    private static final int MIN_PARALLEL_ITEMS = 256;
+
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty(PROPERTY, "true"));
+
+    private ParallelIndexing() {}
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        ParallelIndexing.enabled = enabled;
+    }
+
+    /** Applies the function to all items and returns the results in the order of the items. */
+    static <T, R> List<R> map(Collection<T> items, Function<T, R> function) {
+        Stream<T> stream = items.stream();
+        if (enabled && items.size() >= MIN_PARALLEL_ITEMS) {
+            stream = stream.parallel();
+        }
+        return stream.map(function).collect(Collectors.toList());
+    }
+
+    /** Runs the tasks and waits for all of them to finish. */
+    static void runAll(Runnable... tasks) {
+        if (!enabled) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        ForkJoinTask.invokeAll(
+                Arrays.stream(tasks).map(ForkJoinTask::adapt).collect(Collectors.toList()));
+    }
+}
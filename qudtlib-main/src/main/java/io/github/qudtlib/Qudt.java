@@ -2,23 +2,16 @@ package io.github.qudtlib;
 
 import static java.util.stream.Collectors.toList;
 
-import com.java2s.Log10BigDecimal;
-import io.github.qudtlib.exception.IncompleteDataException;
 import io.github.qudtlib.exception.InconvertibleQuantitiesException;
 import io.github.qudtlib.exception.NotFoundException;
 import io.github.qudtlib.init.Initializer;
 import io.github.qudtlib.model.*;
-import io.github.qudtlib.support.fractional.FractionalDimensionVector;
-import io.github.qudtlib.support.fractional.FractionalUnits;
-import io.github.qudtlib.support.index.Flag;
-import io.github.qudtlib.support.index.SearchIndex;
-import io.github.qudtlib.support.parse.UnitParser;
+import io.github.qudtlib.support.parse.UnitParseCache;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Main QUDTLib interface.
@@ -46,17 +39,6 @@ import java.util.stream.Stream;
  */
 @SuppressWarnings("unused")
 public class Qudt {
-    private static final Map<String, Unit> units;
-    private static final Map<String, QuantityKind> quantityKinds;
-    private static final Map<String, Prefix> prefixes;
-    private static final Map<String, SystemOfUnits> systemsOfUnits;
-
-    private static final Map<String, ConstantValue> constantValues;
-
-    private static final Map<String, PhysicalConstant> physicalConstants;
-
-    private static final BigDecimal BD_1000 = new BigDecimal("1000");
-
     public abstract static class NAMESPACES extends QudtNamespaces {}
 
     /*
@@ -74,9 +56,8 @@ public class Qudt {
     public abstract static class PhysicalConstants
             extends io.github.qudtlib.model.PhysicalConstants {}
 
-    private static final SearchIndex<Unit> unitIndex = new SearchIndex<>(true);
-    private static final Map<DimensionVector, SortedSet<Unit>> unitsByDimensionVector =
-            new HashMap<>();
+    /* The context holding the model loaded by the InitializerImpl on the classpath. */
+    private static final QudtContext defaultContext;
 
     /* Use the Initializer to load and wire all prefixes, units and quantityKinds. */
     static {
@@ -96,84 +77,71 @@ public class Qudt {
                     e);
         }
         if (initializer != null) {
-            Initializer.Definitions definitions = initializer.loadData();
-            prefixes = initializer.buildPrefixes(definitions);
-            units = initializer.buildUnits(definitions);
-            quantityKinds = initializer.buildQuantityKinds(definitions);
-            systemsOfUnits = initializer.buildSystemsOfUnits(definitions);
-            constantValues = initializer.buildConstantValues(definitions);
-            physicalConstants = initializer.buildPhysicalConstants(definitions);
+            defaultContext = new QudtContext(initializer);
         } else {
-            prefixes = new HashMap<>();
-            units = new HashMap<>();
-            quantityKinds = new HashMap<>();
-            systemsOfUnits = new HashMap<>();
-            constantValues = new HashMap<>();
-            physicalConstants = new HashMap<>();
+            defaultContext = new QudtContext(new Initializer.Definitions());
             System.err.println(
                     "\n\n\n ERROR: The QUDTlib data model has not been initialized properly and will not work\n\n\n");
         }
-        reindexUnitsForSearch();
-        reindexUnitsForComparison();
-    }
-
-    private enum UNIT_INDEX_KEYS {
-        SYMBOL,
-        UCUM_CODE,
-        LABEL,
-        IRI_LOCALNAME,
-        EMPTY_VALUE
-    }
-
-    private static void reindexUnitsForComparison() {
-        unitsByDimensionVector.clear();
-        for (Unit u : units.values()) {
-            try {
-                Optional<DimensionVector> dvOpt = u.getDimensionVector();
-                if (dvOpt.isEmpty()) {
-                    continue;
-                }
-                DimensionVector dv = dvOpt.get();
-                SortedSet<Unit> similarUnits = unitsByDimensionVector.get(dv);
-                if (similarUnits == null) {
-                    similarUnits = new TreeSet<>(Comparator.comparing(Unit::getIri));
-                    unitsByDimensionVector.put(dv, similarUnits);
-                }
-                similarUnits.add(u);
-            } catch (IncompleteDataException e) {
-                System.err.println(
-                        "error calculating dimension vector for: " + u.getIriAbbreviated());
-            }
-        }
     }
 
-    private static void reindexUnitsForSearch() {
-        unitIndex.clear();
-        for (Unit u : Qudt.units.values()) {
-            unitIndex.put(
-                    UNIT_INDEX_KEYS.SYMBOL
-                            + u.getSymbol().orElse(UNIT_INDEX_KEYS.EMPTY_VALUE.toString()),
-                    u);
-            u.getAltSymbols().stream()
-                    .forEach(symbol -> unitIndex.put(UNIT_INDEX_KEYS.SYMBOL + symbol, u));
-            unitIndex.put(
-                    UNIT_INDEX_KEYS.UCUM_CODE
-                            + u.getUcumCode().orElse(UNIT_INDEX_KEYS.EMPTY_VALUE.toString()),
-                    u);
-            unitIndex.put(UNIT_INDEX_KEYS.IRI_LOCALNAME + u.getIriLocalname(), u);
-            u.getLabels().stream()
-                    .map(LangString::getString)
-                    .forEach(
-                            s -> {
-                                unitIndex.put(UNIT_INDEX_KEYS.LABEL + s, u);
-                            });
-        }
-    }
+    static final String PARSE_CACHE_SIZE_PROPERTY = "qudtlib.parseCacheSize";
+
+    /* The results of parseUnit(), see setParseCacheMaximumSize(). */
+    private static volatile UnitParseCache parseCache =
+            newParseCache(
+                    Integer.getInteger(
+                            PARSE_CACHE_SIZE_PROPERTY, UnitParseCache.DEFAULT_MAXIMUM_SIZE));
 
     /*
      * public methods
      */
 
+    /**
+     * Returns the context holding the model loaded by the {@code InitializerImpl} on the classpath.
+     * The static methods of this class that look up, search or add entities use this context.
+     *
+     * @return the default context
+     */
+    public static QudtContext defaultContext() {
+        return defaultContext;
+    }
+
+    /**
+     * Builds the indexes used for searching units (by symbol, label, etc.), for finding derived and
+     * corresponding units, for scaling units and for checking the units of a system. They are
+     * otherwise built on first use, which makes that call slower. Call this method at startup, for
+     * example, to keep that cost away from the first requests.
+     *
+     * <p>The indexes are built concurrently unless parallel indexing is disabled.
+     */
+    public static void prewarmIndexes() {
+        defaultContext.prewarmIndexes();
+    }
+
+    /**
+     * Enables or disables parallel indexing. If enabled (the default), independent parts of
+     * building the indexes, such as computing the dimension vectors and normalized factor units of
+     * all units, run on the common fork-join pool. If disabled, everything runs on the calling
+     * thread, which makes debugging and profiling easier. The indexes are the same either way.
+     *
+     * <p>The default can be set with the system property {@code qudtlib.parallelIndexing}.
+     *
+     * @param parallel whether to build indexes in parallel
+     */
+    public static void setParallelIndexing(boolean parallel) {
+        ParallelIndexing.setEnabled(parallel);
+    }
+
+    /**
+     * Returns true if indexes are built in parallel.
+     *
+     * @see #setParallelIndexing(boolean)
+     */
+    public static boolean isParallelIndexing() {
+        return ParallelIndexing.isEnabled();
+    }
+
     /**
      * Returns a {@link Unit} for the specified localname (i.e. the last element of the Unit IRI).
      * For example, <code>unitFromLocalName("N-PER-M2")</code> yields the unit with IRI <code>
@@ -221,54 +189,73 @@ public class Qudt {
      * @return the first unit found
      */
     public static Optional<Unit> unitFromLabel(String label) {
-        LabelMatcher labelMatcher = new LabelMatcher(label);
-        return units.values().stream()
-                .filter(u -> u.getLabels().stream().anyMatch(labelMatcher::matches))
-                .findFirst();
+        return defaultContext.unitFromLabel(label);
     }
 
     public static Set<Unit> unitsByIriLocalname(
             String iriLocalname, boolean matchPrefix, boolean caseInsensitive) {
-        return unitIndex.get(
-                UNIT_INDEX_KEYS.IRI_LOCALNAME + iriLocalname,
-                Flag.matchPrefix(matchPrefix).caseInsensitive(caseInsensitive).getBits());
+        return defaultContext.unitsByIriLocalname(iriLocalname, matchPrefix, caseInsensitive);
     }
 
     public static Set<Unit> unitsBySymbol(
             String symbol, boolean matchPrefix, boolean caseInsensitive) {
-        return unitIndex.get(
-                UNIT_INDEX_KEYS.SYMBOL + symbol,
-                Flag.matchPrefix(matchPrefix).caseInsensitive(caseInsensitive).getBits());
+        return defaultContext.unitsBySymbol(symbol, matchPrefix, caseInsensitive);
     }
 
     public static Set<Unit> unitsByUcumCode(
             String ucumCode, boolean matchPrefix, boolean caseInsensitive) {
-        return unitIndex.get(
-                UNIT_INDEX_KEYS.UCUM_CODE + ucumCode,
-                Flag.matchPrefix(matchPrefix).caseInsensitive(caseInsensitive).getBits());
+        return defaultContext.unitsByUcumCode(ucumCode, matchPrefix, caseInsensitive);
     }
 
     public static Set<Unit> unitsByLabel(
             String label, boolean matchPrefix, boolean caseInsensitive) {
-        return unitIndex.get(
-                UNIT_INDEX_KEYS.LABEL + label,
-                Flag.matchPrefix(matchPrefix).caseInsensitive(caseInsensitive).getBits());
+        return defaultContext.unitsByLabel(label, matchPrefix, caseInsensitive);
     }
 
     /**
      * Parse the unit specified in the `input` String and filter the result by the specific
      * quantityKind's applicableUnits.
      *
+     * <p>The results are cached until units or quantity kinds are added (see {@link
+     * #setParseCacheMaximumSize(int)}).
+     *
      * @param input the string to parse
      * @param quantityKind the quantitykind that the units are required to be applicable to
-     * @return the set of units that match the input string and quantitykind
+     * @return the unmodifiable set of units that match the input string and quantitykind
      */
     public static Set<Unit> parseUnit(String input, QuantityKind quantityKind) {
-        return new UnitParser(input, quantityKind).parse();
+        return parseCache.parse(input, quantityKind);
     }
 
     public static Set<Unit> parseUnit(String input) {
-        return new UnitParser(input).parse();
+        return parseCache.parse(input, null);
+    }
+
+    /**
+     * Sets the maximum number of results of {@link #parseUnit(String, QuantityKind)} that are
+     * cached, discarding all cached results and the cache statistics. 0 disables the cache.
+     *
+     * <p>The default is {@value UnitParseCache#DEFAULT_MAXIMUM_SIZE}, it can be set with the system
+     * property {@code qudtlib.parseCacheSize}.
+     *
+     * @param maximumSize the maximum number of cached results: 0, or at least 16
+     */
+    public static void setParseCacheMaximumSize(int maximumSize) {
+        parseCache = newParseCache(maximumSize);
+    }
+
+    private static UnitParseCache newParseCache(int maximumSize) {
+        return new UnitParseCache(maximumSize, defaultContext::getModelVersion);
+    }
+
+    /**
+     * Returns the hit/miss statistics of the cache holding the results of {@link #parseUnit(String,
+     * QuantityKind)}.
+     *
+     * @return the statistics
+     */
+    public static CacheStatistics getParseCacheStatistics() {
+        return parseCache.getStatistics();
     }
 
     public static Unit unitFromLabelRequired(String label) {
@@ -285,12 +272,21 @@ public class Qudt {
      * @return the unit
      */
     public static Optional<Unit> unit(String iri) {
-        return Optional.ofNullable(units.get(iri));
+        return defaultContext.unit(iri);
     }
 
     public static Unit unitRequired(String iri) {
-        return Optional.ofNullable(units.get(iri))
-                .orElseThrow(() -> new NotFoundException("No unit found for Iri " + iri));
+        return defaultContext.unitRequired(iri);
+    }
+
+    /**
+     * Returns the {@link Unit} with the specified id (see {@link Unit#getId()}).
+     *
+     * @param id the id of the requested unit
+     * @return the unit, or empty if there is no unit with that id
+     */
+    public static Optional<Unit> unitById(int id) {
+        return defaultContext.unitById(id);
     }
 
     /**
@@ -314,37 +310,7 @@ public class Qudt {
     }
 
     public static Unit scale(String prefixLabel, String baseUnitLabel) {
-        LabelMatcher labelMatcher = new LabelMatcher(baseUnitLabel);
-        return units.values().stream()
-                .filter(u -> u.getPrefix().isPresent())
-                .filter(
-                        u ->
-                                u.getPrefix().get().getLabels().stream()
-                                        .anyMatch(
-                                                pl -> pl.getString().equalsIgnoreCase(prefixLabel)))
-                .filter(u -> u.getScalingOf().isPresent())
-                .filter(
-                        u ->
-                                u.getScalingOf().get().getLabels().stream()
-                                        .anyMatch(labelMatcher::matches))
-                .findFirst()
-                .or(
-                        () -> {
-                            // special case: KiloGM is not a scaling of GM, it's the other way
-                            // around - need
-                            // to handle specifically.
-                            if (prefixLabel.toLowerCase(Locale.ROOT).equals("kilo")
-                                    && baseUnitLabel.toLowerCase(Locale.ROOT).equals("gram")) {
-                                return unitFromLocalname("KiloGM");
-                            }
-                            return Optional.empty();
-                        })
-                .orElseThrow(
-                        () ->
-                                new NotFoundException(
-                                        String.format(
-                                                "No scaled unit found with base unit '%s' and prefix '%s'",
-                                                baseUnitLabel, prefixLabel)));
+        return defaultContext.scale(prefixLabel, baseUnitLabel);
     }
 
     /**
@@ -357,27 +323,43 @@ public class Qudt {
      * @throws NotFoundException if no such unit is present in the model.
      */
     public static Unit scale(Prefix prefix, Unit baseUnit) {
-        return units.values().stream()
-                .filter(u -> u.getPrefix().isPresent())
-                .filter(u -> u.getPrefix().get().equals(prefix))
-                .filter(u -> u.getScalingOf().isPresent())
-                .filter(u -> u.getScalingOf().get().equals(baseUnit))
-                .findFirst()
-                .or(
-                        () -> {
-                            if (prefix.getIri().equals(NAMESPACES.prefix.makeIriInNamespace("Kilo"))
-                                    && baseUnit.getIri()
-                                            .equals(NAMESPACES.unit.makeIriInNamespace("GM"))) {
-                                return unitFromLabel("kilogram");
-                            }
-                            return Optional.empty();
-                        })
-                .orElseThrow(
-                        () ->
-                                new NotFoundException(
-                                        String.format(
-                                                "No scaled unit found with base unit '%s' and prefix '%s'",
-                                                baseUnit, prefix)));
+        return defaultContext.scale(prefix, baseUnit);
+    }
+
+    /**
+     * Returns the specified {@code value} expressed in the unit of its scaling family (the base
+     * unit and the units that scale it by a power of 1000) that keeps the number between 1 and
+     * 1000, if possible. For example, {@code 1500 M} yields {@code 1.5 KiloM} and {@code 0.002
+     * KiloGM} yields {@code 2 GM}. If the value is too large or too small for any unit of the
+     * family, the unit with the largest or smallest multiplier is used, respectively.
+     *
+     * <p>The multiplier of a scaled unit is that of its conversion, so {@code MilliM2} scales
+     * {@code M2} by 1e-6 and {@code DeciM3} scales {@code M3} by 1e-3. Units whose multiplier is
+     * not a power of 1000 (such as {@code CentiM}) are never chosen, but values in such units are
+     * converted. Values in units that are not a scaling of another unit and are not scaled
+     * themselves (such as {@code Qudt.Units.HR}), as well as zero values, are returned unchanged.
+     *
+     * @param value the value to rescale
+     * @return the value in the best scaled unit
+     */
+    public static QuantityValue bestScaledUnit(QuantityValue value) {
+        return bestScaledUnit(value, null);
+    }
+
+    /**
+     * Returns the specified {@code value} expressed in the unit of its scaling family that keeps
+     * the number between 1 and 1000, if possible, considering only units allowed in the specified
+     * {@code systemOfUnits}. See {@link #bestScaledUnit(QuantityValue)}.
+     *
+     * <p>If no unit of the family is allowed in the system, the value is returned unchanged.
+     *
+     * @param value the value to rescale
+     * @param systemOfUnits the system the resulting unit must be allowed in, or {@code null} to
+     *     allow any unit
+     * @return the value in the best scaled unit
+     */
+    public static QuantityValue bestScaledUnit(QuantityValue value, SystemOfUnits systemOfUnits) {
+        return defaultContext.bestScaledUnit(value, systemOfUnits);
     }
 
     /**
@@ -413,7 +395,7 @@ public class Qudt {
         if (treatPrefixlessAsUnscaled && unit.getPrefix().isEmpty()) {
             return unit;
         }
-        if (treatKiloGmAsUnscaled && unit.getIriAbbreviated().equals("unit:KiloGM")) {
+        if (treatKiloGmAsUnscaled && unit.getIri().equals(QudtContext.KILOGM_IRI)) {
             return unit;
         }
         return unit.getScalingOf().get();
@@ -498,13 +480,7 @@ public class Qudt {
      */
     public static List<Unit> unitsFromMap(
             DerivedUnitSearchMode searchMode, Map<Unit, Integer> factorUnits) {
-        Object[] arr = new Object[factorUnits.size() * 2];
-        return unitsFromUnitExponentPairs(
-                searchMode,
-                factorUnits.entrySet().stream()
-                        .flatMap(e -> Stream.of(e.getKey(), e.getValue()))
-                        .collect(Collectors.toList())
-                        .toArray(arr));
+        return defaultContext.unitsFromMap(searchMode, factorUnits);
     }
 
     /**
@@ -531,8 +507,7 @@ public class Qudt {
      */
     public static List<Unit> unitsFromFactorUnits(
             DerivedUnitSearchMode searchMode, List<FactorUnit> factorUnits) {
-        FactorUnits selection = new FactorUnits(factorUnits);
-        return derivedUnitListFromFactorUnits(searchMode, selection);
+        return defaultContext.unitsFromFactorUnits(searchMode, factorUnits);
     }
 
     /**
@@ -562,37 +537,7 @@ public class Qudt {
      */
     public static List<Unit> unitsFromUnitExponentPairs(
             DerivedUnitSearchMode searchMode, final Object... factorUnitSpec) {
-        Object[] spec = new Object[factorUnitSpec.length];
-        for (int i = 0; i < factorUnitSpec.length; i++) {
-            if (i % 2 == 0 && factorUnitSpec[i] instanceof Unit) {
-                spec[i] = factorUnitSpec[i];
-            } else if (i % 2 == 0 && factorUnitSpec[i] instanceof String) {
-                String unitString = (String) factorUnitSpec[i];
-                Optional<Unit> unitOpt = unit(unitString);
-                if (unitOpt.isEmpty()) {
-                    unitOpt = unitFromLocalname(unitString);
-                }
-                if (unitOpt.isEmpty()) {
-                    unitOpt = unitFromLabel(unitString);
-                }
-                if (unitOpt.isEmpty()) {
-                    throw new NotFoundException(
-                            String.format(
-                                    "Unable to find unit for string %s, interpreted as iri, label, or localname",
-                                    unitString));
-                }
-                spec[i] = unitOpt.get();
-            } else if (i % 2 == 1 && factorUnitSpec[i] instanceof Integer) {
-                spec[i] = factorUnitSpec[i];
-            } else {
-                throw new IllegalArgumentException(
-                        String.format(
-                                "Cannot handle input '%s' at 0-base position %d",
-                                factorUnitSpec[i].toString(), i));
-            }
-        }
-        FactorUnits selection = FactorUnits.ofFactorUnitSpec(spec);
-        return derivedUnitListFromFactorUnits(searchMode, selection);
+        return defaultContext.unitsFromUnitExponentPairs(searchMode, factorUnitSpec);
     }
 
     /**
@@ -609,178 +554,12 @@ public class Qudt {
         return new HashSet<>(unitsFromUnitExponentPairs(searchMode, factorUnitSpec));
     }
 
-    /**
-     * @param searchMode the {@link DerivedUnitSearchMode} to use
-     * @param selection the factor unit selection
-     * @return the units that match
-     * @see #unitsFromMap(DerivedUnitSearchMode, Map)
-     */
-    private static List<Unit> derivedUnitListFromFactorUnits(
-            DerivedUnitSearchMode searchMode, FactorUnits selection) {
-        Set<Unit> matchingUnits = unitsByDimensionVector.get(selection.getDimensionVector());
-        if (matchingUnits == null) {
-            return List.of();
-        }
-
-        matchingUnits =
-                matchingUnits.stream()
-                        .filter(u -> u.matches(selection))
-                        .collect(Collectors.toSet());
-        if (searchMode == DerivedUnitSearchMode.ALL || matchingUnits.size() < 2) {
-            return matchingUnits.stream()
-                    .sorted(bestMatchForFactorUnitsComparator(selection))
-                    .collect(toList());
-        }
-
-        return matchingUnits.stream().min(bestMatchForFactorUnitsComparator(selection)).stream()
-                .collect(Collectors.toList());
-    }
-
     public static List<Unit> unitsWithSameFractionalDimensionVector(Unit unit) {
-        Objects.requireNonNull(unit);
-        FractionalDimensionVector fdv = FractionalUnits.getFractionalDimensionVector(unit);
-        return Qudt.units.values().stream()
-                .filter(
-                        u -> {
-                            try {
-                                return fdv.equals(FractionalUnits.getFractionalDimensionVector(u));
-                            } catch (Exception e) {
-                                return false;
-                            }
-                        })
-                .collect(Collectors.toList());
+        return defaultContext.unitsWithSameFractionalDimensionVector(unit);
     }
 
     static Comparator<Unit> bestMatchForFactorUnitsComparator(FactorUnits requestedFactorUnits) {
-
-        FactorUnits reqNorm = requestedFactorUnits.normalize();
-        FactorUnits reqNum = requestedFactorUnits.numerator();
-        FactorUnits reqNumNorm = reqNum.normalize();
-        FactorUnits reqDen = requestedFactorUnits.denominator();
-        FactorUnits reqDenNorm = reqDen.normalize();
-        List<String> reqLocalNamePossibilities =
-                requestedFactorUnits.generateAllLocalnamePossibilities();
-        return new Comparator<Unit>() {
-            @Override
-            public int compare(Unit left, Unit right) {
-                if (left.getFactorUnits().equals(requestedFactorUnits)) {
-                    if (!right.getFactorUnits().equals(requestedFactorUnits)) {
-                        return -1; // prefer a unit that matches the factors exactly
-                    }
-                } else {
-                    if (right.getFactorUnits().equals(requestedFactorUnits)) {
-                        return 1;
-                    }
-                }
-                if (right.isDeprecated()) {
-                    if (!left.isDeprecated()) {
-                        return -1; // prefer a non-deprecated unit
-                    }
-                } else if (left.isDeprecated()) {
-                    return 1; // prefer a non-deprecated unit
-                }
-                if (right.isGenerated()) {
-                    if (!left.isGenerated()) {
-                        return -1; // prefer a unit that was not generated as a missing factor unit
-                    }
-                } else if (left.isGenerated()) {
-                    return 1;
-                }
-                if (right.isDefinedAsOtherUnit()
-                        && left.getFactorUnits().getFactorUnits().size() == 1
-                        && left.getFactorUnits().getFactorUnits().get(0).getUnit().equals(right)
-                        && right.getFactorUnits().getFactorUnits().get(0).getExponent()
-                                == left.getFactorUnits().getFactorUnits().get(0).getExponent()) {
-                    return -1; // if a unit is just another name of another unit with same exponent,
-                    // prefer the other (thus L would be preferred over DeciM)
-                }
-                if (left.isDefinedAsOtherUnit()
-                        && left.getFactorUnits().getFactorUnits().size() == 1
-                        && right.getFactorUnits().getFactorUnits().get(0).getUnit().equals(left)
-                        && right.getFactorUnits().getFactorUnits().get(0).getExponent()
-                                == left.getFactorUnits().getFactorUnits().get(0).getExponent()) {
-                    return 1;
-                }
-
-                if (!left.getIriLocalname().contains("-")) {
-                    if (right.getIriLocalname().contains("-")) {
-                        return -1; // prefer a derived unit with a new name (such as W, J, N etc.)
-                    }
-                } else if (!right.getIriLocalname().contains("-")) {
-                    return 1;
-                }
-
-                final int diffFactorsCountDen =
-                        expandedFactorsCountDiff(
-                                left.getFactorUnits().denominator(),
-                                right.getFactorUnits().denominator(),
-                                reqDen);
-                if (diffFactorsCountDen != 0) {
-                    return diffFactorsCountDen;
-                }
-                final int diffFactorsCountNum =
-                        expandedFactorsCountDiff(
-                                left.getFactorUnits().numerator(),
-                                right.getFactorUnits().numerator(),
-                                reqNum);
-                if (diffFactorsCountNum != 0) {
-                    return diffFactorsCountNum;
-                }
-                final int factorCountDiff =
-                        expandedFactorsCountDiff(
-                                left.getFactorUnits(),
-                                right.getFactorUnits(),
-                                requestedFactorUnits);
-                if (factorCountDiff != 0) {
-                    return factorCountDiff;
-                }
-                if (left.getDependents() >= 10
-                        && left.getDependents() > 2 * right.getDependents()) {
-                    return -1; // prefer a unit that has more dependents (other units that refer to
-                    // it as their factor unit or base unit)
-                } else if (right.getDependents() >= 10
-                        && right.getDependents() > 2 * left.getDependents()) {
-                    return 1;
-                }
-                String leftLocalname = left.getIriLocalname();
-                String rightLocalname = right.getIriLocalname();
-                if (reqLocalNamePossibilities.contains(leftLocalname)) {
-                    if (!reqLocalNamePossibilities.contains(rightLocalname)) {
-                        return -1;
-                    }
-                } else if (reqLocalNamePossibilities.contains(rightLocalname)) {
-                    return 1;
-                }
-                long leftUnderscores = leftLocalname.codePoints().filter(c -> c == '_').count();
-                long rightUnderscores = rightLocalname.codePoints().filter(c -> c == '_').count();
-                if (leftUnderscores < rightUnderscores) {
-                    return -1; // prefer a unit without modifier in one of its components
-                } else if (leftUnderscores > rightUnderscores) {
-                    return 1;
-                }
-                if (left.getFactorUnits().equals(reqNorm)) {
-                    if (!right.getFactorUnits().equals(reqNorm)) {
-                        return -1; // prefer a unit that matches the normalized factors exactly
-                    }
-                } else {
-                    if (right.getFactorUnits().equals(reqNorm)) {
-                        return 1;
-                    }
-                }
-                return left.getIriLocalname().compareTo(right.getIriLocalname());
-            }
-
-            private int expandedFactorsCountDiff(
-                    FactorUnits leftDen, FactorUnits rightDen, FactorUnits target) {
-                int leftFactorsDenCnt = leftDen.expand().size();
-                int rightFactorsDenCnt = rightDen.expand().size();
-                int reqFactorsDenCnt = target.expand().size();
-                int diffFactorsCountDen =
-                        Math.abs(reqFactorsDenCnt - leftFactorsDenCnt)
-                                - Math.abs(reqFactorsDenCnt - rightFactorsDenCnt);
-                return diffFactorsCountDen;
-            }
-        };
+        return defaultContext.bestMatchForFactorUnitsComparator(requestedFactorUnits);
     }
 
     /**
@@ -831,12 +610,21 @@ public class Qudt {
      * @throws NotFoundException if no such quantityKind is found.
      */
     public static Optional<QuantityKind> quantityKind(String iri) {
-        return Optional.ofNullable(quantityKinds.get(iri));
+        return defaultContext.quantityKind(iri);
+    }
+
+    /**
+     * Returns the {@link QuantityKind} with the specified id (see {@link QuantityKind#getId()}).
+     *
+     * @param id the id of the requested quantityKind
+     * @return the quantityKind, or empty if there is no quantityKind with that id
+     */
+    public static Optional<QuantityKind> quantityKindById(int id) {
+        return defaultContext.quantityKindById(id);
     }
 
     public static QuantityKind quantityKindRequired(String iri) {
-        return quantityKind(iri)
-                .orElseThrow(() -> new NotFoundException("QuantityKind not found: " + iri));
+        return defaultContext.quantityKindRequired(iri);
     }
 
     /**
@@ -917,11 +705,21 @@ public class Qudt {
      * @throws NotFoundException if no such prefix is found.
      */
     public static Optional<Prefix> prefix(String iri) {
-        return Optional.ofNullable(prefixes.get(iri));
+        return defaultContext.prefix(iri);
+    }
+
+    /**
+     * Returns the {@link Prefix} with the specified id (see {@link Prefix#getId()}).
+     *
+     * @param id the id of the requested prefix
+     * @return the prefix, or empty if there is no prefix with that id
+     */
+    public static Optional<Prefix> prefixById(int id) {
+        return defaultContext.prefixById(id);
     }
 
     public static Prefix prefixRequired(String iri) {
-        return prefix(iri).orElseThrow(() -> new NotFoundException("Prefix not found: " + iri));
+        return defaultContext.prefixRequired(iri);
     }
 
     /**
@@ -963,12 +761,11 @@ public class Qudt {
      * @throws NotFoundException if no such constantValue is found.
      */
     public static Optional<ConstantValue> constantValue(String iri) {
-        return Optional.ofNullable(constantValues.get(iri));
+        return defaultContext.constantValue(iri);
     }
 
     public static ConstantValue constantValueRequired(String iri) {
-        return constantValue(iri)
-                .orElseThrow(() -> new NotFoundException("ConstantValue not found: " + iri));
+        return defaultContext.constantValueRequired(iri);
     }
 
     /**
@@ -1010,12 +807,11 @@ public class Qudt {
      * @throws NotFoundException if no such physicalConstant is found.
      */
     public static Optional<PhysicalConstant> physicalConstant(String iri) {
-        return Optional.ofNullable(physicalConstants.get(iri));
+        return defaultContext.physicalConstant(iri);
     }
 
     public static PhysicalConstant physicalConstantRequired(String iri) {
-        return physicalConstant(iri)
-                .orElseThrow(() -> new NotFoundException("PhysicalConstant not found: " + iri));
+        return defaultContext.physicalConstantRequired(iri);
     }
 
     /**
@@ -1045,10 +841,7 @@ public class Qudt {
      * @return the first systemOfUnits found
      */
     public static Optional<SystemOfUnits> systemOfUnitsFromLabel(String label) {
-        LabelMatcher labelMatcher = new LabelMatcher(label);
-        return systemsOfUnits.values().stream()
-                .filter(u -> u.getLabels().stream().anyMatch(labelMatcher::matches))
-                .findFirst();
+        return defaultContext.systemOfUnitsFromLabel(label);
     }
 
     public static SystemOfUnits systemOfUnitsFromLabelRequired(String label) {
@@ -1068,12 +861,21 @@ public class Qudt {
      * @return the systemOfUnits
      */
     public static Optional<SystemOfUnits> systemOfUnits(String iri) {
-        return Optional.ofNullable(systemsOfUnits.get(iri));
+        return defaultContext.systemOfUnits(iri);
+    }
+
+    /**
+     * Returns the {@link SystemOfUnits} with the specified id (see {@link SystemOfUnits#getId()}).
+     *
+     * @param id the id of the requested systemOfUnits
+     * @return the systemOfUnits, or empty if there is no systemOfUnits with that id
+     */
+    public static Optional<SystemOfUnits> systemOfUnitsById(int id) {
+        return defaultContext.systemOfUnitsById(id);
     }
 
     public static SystemOfUnits systemOfUnitsRequired(String iri) {
-        return Optional.ofNullable(systemsOfUnits.get(iri))
-                .orElseThrow(() -> new NotFoundException("No systemOfUnits found for Iri " + iri));
+        return defaultContext.systemOfUnitsRequired(iri);
     }
 
     /**
@@ -1205,6 +1007,167 @@ public class Qudt {
         return fromUnit.convert(fromValue, toUnit);
     }
 
+    /**
+     * Convert the specified <code>fromValue</code>, interpreted to be in the {@link Unit} <code>
+     * fromUnit</code> into the unit <code>toUnit</code>, using double precision arithmetic. See
+     * {@link Unit#convert(double, Unit, QuantityKind)} for the error bounds compared to {@link
+     * #convert(BigDecimal, Unit, Unit)}.
+     *
+     * @param fromValue the value to convert
+     * @param fromUnit the unit of the <code>value</code>
+     * @param toUnit the target unit
+     * @return the resulting value
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static double convert(double fromValue, Unit fromUnit, Unit toUnit)
+            throws InconvertibleQuantitiesException {
+        return convert(fromValue, fromUnit, toUnit, null);
+    }
+
+    /**
+     * Convert the specified <code>fromValue</code>, interpreted to be in the {@link Unit} <code>
+     * fromUnit</code> into the unit <code>toUnit</code>, using double precision arithmetic.
+     *
+     * @param fromValue the value to convert
+     * @param fromUnit the unit of the <code>value</code>
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @return the resulting value
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static double convert(
+            double fromValue, Unit fromUnit, Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        return fromUnit.convert(fromValue, toUnit, quantityKind);
+    }
+
+    /**
+     * Convert the specified {@link DoubleQuantityValue} <code>from</code> into the specified target
+     * {@link Unit} <code>toUnit</code>, using double precision arithmetic.
+     *
+     * @param from the quantity value to convert
+     * @param toUnit the target unit
+     * @return a quantity value with the converted value in the target unit
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static DoubleQuantityValue convert(DoubleQuantityValue from, Unit toUnit)
+            throws InconvertibleQuantitiesException {
+        return from.convert(toUnit);
+    }
+
+    /**
+     * Convert the specified {@link DoubleQuantityValue} <code>from</code> into the specified target
+     * {@link Unit} <code>toUnit</code>, using double precision arithmetic.
+     *
+     * @param from the quantity value to convert
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @return a quantity value with the converted value in the target unit
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static DoubleQuantityValue convert(
+            DoubleQuantityValue from, Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        return from.convert(toUnit, quantityKind);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code> using double precision arithmetic, and
+     * writes the results into <code>dst</code> at the same indices. Convertibility is checked once
+     * for the whole batch. The same array may be passed as <code>src</code> and <code>dst</code> to
+     * convert in place.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            double[] src, int offset, int length, Unit fromUnit, Unit toUnit, double[] dst)
+            throws InconvertibleQuantitiesException {
+        convertAll(src, offset, length, fromUnit, toUnit, null, dst);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code> using double precision arithmetic, and
+     * writes the results into <code>dst</code> at the same indices.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            double[] src,
+            int offset,
+            int length,
+            Unit fromUnit,
+            Unit toUnit,
+            QuantityKind quantityKind,
+            double[] dst)
+            throws InconvertibleQuantitiesException {
+        converter(fromUnit, toUnit, quantityKind).convert(src, offset, dst, offset, length);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code>, and writes the results at the same
+     * indices into <code>dst</code>. Convertibility is checked once for the whole batch. The same
+     * array may be passed as <code>src</code> and <code>dst</code> to convert in place.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            BigDecimal[] src, int offset, int length, Unit fromUnit, Unit toUnit, BigDecimal[] dst)
+            throws InconvertibleQuantitiesException {
+        convertAll(src, offset, length, fromUnit, toUnit, null, dst);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code>, and writes the results at the same
+     * indices into <code>dst</code>.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            BigDecimal[] src,
+            int offset,
+            int length,
+            Unit fromUnit,
+            Unit toUnit,
+            QuantityKind quantityKind,
+            BigDecimal[] dst)
+            throws InconvertibleQuantitiesException {
+        converter(fromUnit, toUnit, quantityKind).convert(src, offset, dst, offset, length);
+    }
+
     /**
      * Indicates whether the two specified {@link Unit}s are convertible into each other.
      *
@@ -1216,6 +1179,37 @@ public class Qudt {
         return fromUnit.isConvertible(toUnit);
     }
 
+    /**
+     * Returns a {@link UnitConverter} for converting values from <code>fromUnit</code> into <code>
+     * toUnit</code>. The converter checks convertibility and computes the conversion parameters
+     * once, so it should be preferred over {@link #convert(BigDecimal, Unit, Unit)} when many
+     * values are converted between the same units.
+     *
+     * @param fromUnit the unit of the values to convert
+     * @param toUnit the target unit
+     * @return the converter
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static UnitConverter converter(Unit fromUnit, Unit toUnit)
+            throws InconvertibleQuantitiesException {
+        return converter(fromUnit, toUnit, null);
+    }
+
+    /**
+     * Returns a {@link UnitConverter} for converting values from <code>fromUnit</code> into <code>
+     * toUnit</code>.
+     *
+     * @param fromUnit the unit of the values to convert
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @return the converter
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public static UnitConverter converter(Unit fromUnit, Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        return fromUnit.getConverter(toUnit, quantityKind);
+    }
+
     /**
      * Returns a friendly message about QUDTLib.
      *
@@ -1226,54 +1220,38 @@ public class Qudt {
                 + "based on the QUDT ontology (https://qudt.org/)\n"
                 + "happily providing\n"
                 + "\t"
-                + units.size()
+                + defaultContext.allUnits().size()
                 + " units\n"
                 + "\t"
-                + quantityKinds.size()
+                + defaultContext.allQuantityKinds().size()
                 + " quantityKinds\n"
                 + "\t"
-                + prefixes.size()
+                + defaultContext.allPrefixes().size()
                 + " prefixes\n";
     }
 
-    private static class LabelMatcher {
-        private final String labelToMatch;
-
-        public LabelMatcher(String labelToMatch) {
-            this.labelToMatch = labelToMatch.replaceAll("_", " ").toUpperCase(Locale.ROOT);
-        }
-
-        public boolean matches(LangString candidateLabel) {
-            return matches(candidateLabel.getString());
-        }
-
-        public boolean matches(String candiateLabel) {
-            return candiateLabel.toUpperCase(Locale.ROOT).equals(labelToMatch);
-        }
-    }
-
     static Map<String, Prefix> getPrefixesMap() {
-        return Collections.unmodifiableMap(prefixes);
+        return defaultContext.getPrefixesMap();
     }
 
     static Map<String, QuantityKind> getQuantityKindsMap() {
-        return Collections.unmodifiableMap(quantityKinds);
+        return defaultContext.getQuantityKindsMap();
     }
 
     static Map<String, Unit> getUnitsMap() {
-        return Collections.unmodifiableMap(units);
+        return defaultContext.getUnitsMap();
     }
 
     static Map<String, SystemOfUnits> getSystemsOfUnitsMap() {
-        return Collections.unmodifiableMap(systemsOfUnits);
+        return defaultContext.getSystemsOfUnitsMap();
     }
 
     static Map<String, PhysicalConstant> getPhysicalConstantsMap() {
-        return Collections.unmodifiableMap(physicalConstants);
+        return defaultContext.getPhysicalConstantsMap();
     }
 
     static Map<String, ConstantValue> getConstantValuesMap() {
-        return Collections.unmodifiableMap(constantValues);
+        return defaultContext.getConstantValuesMap();
     }
 
     /**
@@ -1282,7 +1260,7 @@ public class Qudt {
      * @return all units
      */
     public static Collection<Unit> allUnits() {
-        return Collections.unmodifiableCollection(units.values());
+        return defaultContext.allUnits();
     }
 
     /**
@@ -1291,7 +1269,7 @@ public class Qudt {
      * @return all quantity kinds
      */
     public static Collection<QuantityKind> allQuantityKinds() {
-        return Collections.unmodifiableCollection(quantityKinds.values());
+        return defaultContext.allQuantityKinds();
     }
 
     /**
@@ -1300,7 +1278,7 @@ public class Qudt {
      * @return all prefixes
      */
     public static Collection<Prefix> allPrefixes() {
-        return Collections.unmodifiableCollection(prefixes.values());
+        return defaultContext.allPrefixes();
     }
 
     /**
@@ -1309,21 +1287,32 @@ public class Qudt {
      * @return all systemsOfUnits
      */
     public static Collection<SystemOfUnits> allSystemsOfUnits() {
-        return Collections.unmodifiableCollection(systemsOfUnits.values());
+        return defaultContext.allSystemsOfUnits();
     }
 
     public static Collection<PhysicalConstant> allPhysicalConstant() {
-        return Collections.unmodifiableCollection(physicalConstants.values());
+        return defaultContext.allPhysicalConstants();
     }
 
     public static Collection<ConstantValue> allConstantValues() {
-        return Collections.unmodifiableCollection(constantValues.values());
+        return defaultContext.allConstantValues();
     }
 
     public static Collection<Unit> allUnitsOfSystem(SystemOfUnits system) {
-        return units.values().stream()
-                .filter(system::allowsUnit)
-                .collect(Collectors.toUnmodifiableSet());
+        return defaultContext.allUnitsOfSystem(system);
+    }
+
+    /**
+     * Returns true if the specified {@code system} allows the specified {@code unit}, as decided by
+     * {@link SystemOfUnits#allowsUnit(Unit)}. For the units and systems in the model, the result is
+     * looked up in bit sets computed on first use.
+     *
+     * @param unit the unit to check
+     * @param system the system of units
+     * @return true if the unit is allowed in the system
+     */
+    public static boolean isUnitOfSystem(Unit unit, SystemOfUnits system) {
+        return defaultContext.isUnitOfSystem(unit, system);
     }
 
     /**
@@ -1368,98 +1357,41 @@ public class Qudt {
      * @return
      */
     public static List<Unit> correspondingUnitsInSystem(Unit unit, SystemOfUnits systemOfUnits) {
-        if (systemOfUnits.allowsUnit(unit)) {
-            return List.of(unit);
-        }
-        List<Unit> elegible =
-                Qudt.getUnitsMap().values().stream()
-                        .filter(u -> systemOfUnits.allowsUnit(u))
-                        .filter(u -> u.getDimensionVectorIri().equals(unit.getDimensionVectorIri()))
-                        .filter(u -> !u.equals(unit))
-                        .collect(Collectors.toList());
-        if (elegible.size() == 1) {
-            return elegible;
-        }
-        List<Unit> candidates = new ArrayList(elegible);
-        // get the unit that is closest in magnitude (conversionFactor)
-        // recursively check for factor units
-        candidates = new ArrayList(elegible);
-        candidates.removeIf(
-                u ->
-                        !u.getQuantityKinds().stream()
-                                .anyMatch(q -> unit.getQuantityKinds().contains(q)));
-        if (candidates.size() == 1) {
-            return candidates;
-        }
-        candidates.sort(
-                (Unit l, Unit r) -> {
-                    double scaleDiffL = Math.abs(scaleDifference(l, unit));
-                    double scaleDiffR = Math.abs(scaleDifference(r, unit));
-                    double diff = Math.signum(scaleDiffL - scaleDiffR);
-                    if (diff != 0) {
-                        return (int) diff;
-                    }
-                    // tie breaker: base unit ranked before non-base unit
-                    int cmp =
-                            Boolean.compare(
-                                    systemOfUnits.hasBaseUnit(r), systemOfUnits.hasBaseUnit(l));
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // tie breaker: closer offset
-                    double offsetDiffL = Math.abs(offsetDifference(l, unit));
-                    double offsetDiffR = Math.abs(offsetDifference(r, unit));
-                    cmp = (int) Math.signum(offsetDiffL - offsetDiffR);
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // tie breaker: perfer unit that is not scaled
-                    cmp = Boolean.compare(l.isScaled(), r.isScaled());
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // tie breaker prefer the unit that has a symbol (it's more likely to be
-                    // commonly used):
-                    cmp = Boolean.compare(r.getSymbol().isPresent(), l.getSymbol().isPresent());
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // tie breaker: prefer unit with more quantity kinds (it's less specific)
-                    cmp = Integer.compare(l.getQuantityKinds().size(), r.getQuantityKinds().size());
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // tie breaker: lexicographically compare iris.
-                    return l.getIri().compareTo(r.getIri());
-                });
-        return candidates;
-    }
-
-    private static double scaleDifference(Unit u1, Unit u2) {
-        BigDecimal u1Log10 =
-                Log10BigDecimal.log10(u1.getConversionMultiplier().orElse(BigDecimal.ONE));
-        BigDecimal u2Log10 =
-                Log10BigDecimal.log10(u2.getConversionMultiplier().orElse(BigDecimal.ONE));
-        return u1Log10.doubleValue() - u2Log10.doubleValue();
-    }
-
-    private static double offsetDifference(Unit u1, Unit u2) {
-        BigDecimal u1Log10 = u1.getConversionOffset().orElse(BigDecimal.ZERO).abs();
-        if (u1Log10.compareTo(BigDecimal.ZERO) > 0) {
-            u1Log10 = Log10BigDecimal.log10(u1Log10);
-        }
-        BigDecimal u2Log10 = u2.getConversionOffset().orElse(BigDecimal.ZERO).abs();
-        if (u2Log10.compareTo(BigDecimal.ZERO) > 0) {
-            u2Log10 = Log10BigDecimal.log10(u2Log10);
-        }
-        return u1Log10.doubleValue() - u2Log10.doubleValue();
+        return defaultContext.correspondingUnitsInSystem(unit, systemOfUnits);
     }
 
+    /**
+     * Adds the quantity kind to the model, or replaces the quantity kind with the same IRI. May be
+     * called while other threads use the model; see {@link #addUnit(Unit)}.
+     *
+     * @param quantityKind the quantity kind to add
+     */
     public static void addQuantityKind(QuantityKind quantityKind) {
-        quantityKinds.put(quantityKind.getIri(), quantityKind);
+        defaultContext.addQuantityKind(quantityKind);
     }
 
+    /**
+     * Adds the unit to the model, or replaces the unit with the same IRI, and adds it to the
+     * indexes that have already been built (the others include it when they are built).
+     *
+     * <p>This method may be called while other threads use the model. Readers are never blocked;
+     * they see each index entry either with or without the added unit. Additions are serialized,
+     * and each one copies the map of all units, so use {@link #addUnits(Collection)} to add many
+     * units.
+     *
+     * @param unit the unit to add
+     */
     public static void addUnit(Unit unit) {
-        units.put(unit.getIri(), unit);
+        defaultContext.addUnit(unit);
+    }
+
+    /**
+     * Adds the units to the model like {@link #addUnit(Unit)}, copying the map of all units once
+     * for all of them. If several of the units have the same IRI, the last one wins.
+     *
+     * @param units the units to add
+     */
+    public static void addUnits(Collection<Unit> units) {
+        defaultContext.addUnits(units);
     }
 }
@@ -0,0 +1,1347 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import io.github.qudtlib.exception.NotFoundException;
+import io.github.qudtlib.init.Initializer;
+import io.github.qudtlib.model.*;
+import io.github.qudtlib.support.fractional.FractionalDimensionVector;
+import io.github.qudtlib.support.fractional.FractionalUnits;
+import io.github.qudtlib.support.index.Flag;
+import io.github.qudtlib.support.index.SearchIndex;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A QUDT model (prefixes, units, quantity kinds, systems of units, constant values and physical
+ * constants) together with the indexes for looking up, searching and scaling its units.
+ *
+ * <p>The static methods of {@link Qudt} use the default context, which holds the model loaded by
+ * the {@code InitializerImpl} on the classpath (see {@link Qudt#defaultContext()}). Further
+ * contexts can be built from any {@link Initializer.Definitions}, for example a model trimmed to
+ * the units an application needs, or a tiny model for a test:
+ *
+ * <pre>{@code
+ * QudtContext context = new QudtContext(definitions);
+ * Optional<Unit> metre = context.unitFromLocalname("M");
+ * }</pre>
+ *
+ * <p>Each context builds its own entities from the definitions, unless the definitions have been
+ * built before (definitions build their entity once). Like {@link Qudt}, a context builds its
+ * indexes on first use, and it may be used by many threads, including while units are added.
+ */
+public class QudtContext {
+    static final String KILOGM_IRI = QudtNamespaces.unit.makeIriInNamespace("KiloGM");
+
+    /*
+     * Units and quantity kinds can be added at runtime (see addUnit()). These maps and the arrays
+     * by id are never modified once published: additions replace them with modified copies while
+     * holding the registryLock, so readers never wait and never see a partial update.
+     */
+    private volatile Map<String, Unit> units;
+    private volatile Map<String, QuantityKind> quantityKinds;
+    private final Map<String, Prefix> prefixes;
+    private final Map<String, SystemOfUnits> systemsOfUnits;
+    private final Map<String, ConstantValue> constantValues;
+    private final Map<String, PhysicalConstant> physicalConstants;
+
+    /* The entities by their id (see Unit.getId()), assigned densely when they are built. */
+    private volatile Unit[] unitsById;
+    private volatile QuantityKind[] quantityKindsById;
+    private final Prefix[] prefixesById;
+    private final SystemOfUnits[] systemsOfUnitsById;
+
+    private final Object registryLock = new Object();
+    /* Incremented by each addition, so that results derived from the model can be invalidated. */
+    private volatile long modelVersion;
+
+    /*
+     * The indexes below are read without locking while units are added. Units are added to them,
+     * and replaced units removed from the entries the new ones are not in, in place where that is
+     * atomic (ConcurrentHashMap entries, SearchIndex.update()); the sets and lists held as map
+     * values are replaced by modified copies instead of being modified.
+     */
+    private final SearchIndex<Unit> unitIndex = new SearchIndex<>(true);
+    /* Units by their labels, normalized as for LabelMatcher. The first unit wins. */
+    private final Map<String, Unit> unitsByLabel = new ConcurrentHashMap<>();
+    /* Scaled units by prefix IRI and base unit. The first unit wins. */
+    private final Map<String, Map<Unit, Unit>> scaledUnitsByPrefix = new ConcurrentHashMap<>();
+    /* Scaled units by upper-cased prefix label and base unit label (normalized as above). */
+    private final Map<String, Map<String, Unit>> scaledUnitsByPrefixLabel =
+            new ConcurrentHashMap<>();
+    /* Units scaled by powers of 1000, by their base unit, for finding the best scaled unit. */
+    private final Map<Unit, ScalingFamily> scalingFamilies = new ConcurrentHashMap<>();
+    private final Map<DimensionVector, SortedSet<Unit>> unitsByDimensionVector =
+            new ConcurrentHashMap<>();
+
+    /*
+     * Units keyed by the (unordered) factors of their normalized factor units. Units whose factor
+     * units cannot be normalized at indexing time are kept in a separate list and always checked.
+     */
+    private final Map<Set<FactorUnit>, List<Unit>> unitsByNormalizedFactors =
+            new ConcurrentHashMap<>();
+    private final List<Unit> unitsWithoutNormalizedFactors = new CopyOnWriteArrayList<>();
+    private final Map<Unit, UnitRankingFeatures> unitRankingFeatures = new ConcurrentHashMap<>();
+    private final Map<Unit, UnitMagnitude> unitMagnitudes = new ConcurrentHashMap<>();
+    /* Units allowed in a system, by system and dimension vector. Filled on demand. */
+    private final Map<SystemOfUnits, Map<DimensionVector, List<Unit>>> convertibleUnitsBySystem =
+            new ConcurrentHashMap<>();
+    private volatile UnitSystemMembership unitSystemMembership;
+
+    /*
+     * The indexes above (except those by id) are built on first use, so that applications that
+     * only convert values do not pay for search structures. See prewarmIndexes().
+     */
+    private final LazyIndex<Void> searchIndexes = new LazyIndex<>(this::reindexUnitsForSearch);
+    private final LazyIndex<Prepared<List<UnitComparisonData>>> comparisonIndexes =
+            new LazyIndex<>(this::prepareComparisonIndexes, this::reindexUnitsForComparison);
+    private final LazyIndex<Void> scaledUnitIndexes = new LazyIndex<>(this::reindexScaledUnits);
+    private final LazyIndex<Prepared<UnitSystemMembership>> systemMembershipIndex =
+            new LazyIndex<>(this::prepareSystemMembership, this::reindexSystemMembership);
+
+    /**
+     * Creates a context holding the entities built from the specified definitions.
+     *
+     * @param definitions the definitions of the model
+     */
+    public QudtContext(Initializer.Definitions definitions) {
+        this(() -> definitions, definitions);
+    }
+
+    /**
+     * Creates a context holding the entities built by the specified initializer from the
+     * definitions it loads.
+     *
+     * @param initializer the initializer to load and build the model with
+     */
+    public QudtContext(Initializer initializer) {
+        this(initializer, initializer.loadData());
+    }
+
+    private QudtContext(Initializer initializer, Initializer.Definitions definitions) {
+        prefixes = initializer.buildPrefixes(definitions);
+        units = initializer.buildUnits(definitions);
+        quantityKinds = initializer.buildQuantityKinds(definitions);
+        systemsOfUnits = initializer.buildSystemsOfUnits(definitions);
+        constantValues = initializer.buildConstantValues(definitions);
+        physicalConstants = initializer.buildPhysicalConstants(definitions);
+        unitsById = indexById(units.values(), Unit::getId, Unit[]::new);
+        quantityKindsById =
+                indexById(quantityKinds.values(), QuantityKind::getId, QuantityKind[]::new);
+        prefixesById = indexById(prefixes.values(), Prefix::getId, Prefix[]::new);
+        systemsOfUnitsById =
+                indexById(systemsOfUnits.values(), SystemOfUnits::getId, SystemOfUnits[]::new);
+    }
+
+    private enum UNIT_INDEX_KEYS {
+        SYMBOL,
+        UCUM_CODE,
+        LABEL,
+        IRI_LOCALNAME,
+        EMPTY_VALUE
+    }
+
+    private static <T> T[] indexById(
+            Collection<T> entities, ToIntFunction<T> getId, IntFunction<T[]> newArray) {
+        T[] byId = newArray.apply(entities.stream().mapToInt(getId).max().orElse(-1) + 1);
+        for (T entity : entities) {
+            int id = getId.applyAsInt(entity);
+            if (id >= 0) {
+                byId[id] = entity;
+            }
+        }
+        return byId;
+    }
+
+    private static <T> Optional<T> byId(T[] byId, int id) {
+        if (id < 0 || id >= byId.length) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId[id]);
+    }
+
+    /*
+     * Data for an index computed from the units of the model at some point. Units added after
+     * that are indexed one by one when the index is filled (see LazyIndex).
+     */
+    private static final class Prepared<T> {
+        private final Map<String, Unit> units;
+        private final T data;
+
+        Prepared(Map<String, Unit> units, T data) {
+            this.units = units;
+            this.data = data;
+        }
+    }
+
+    /* Returns the units that have been added or replaced since the prepared data was computed. */
+    private List<Unit> unitsAddedSince(Prepared<?> prepared) {
+        return units.values().stream()
+                .filter(u -> prepared.units.get(u.getIri()) != u)
+                .collect(Collectors.toList());
+    }
+
+    private Prepared<List<UnitComparisonData>> prepareComparisonIndexes() {
+        Map<String, Unit> snapshot = units;
+        return new Prepared<>(
+                snapshot, ParallelIndexing.map(snapshot.values(), UnitComparisonData::of));
+    }
+
+    private void reindexUnitsForComparison(Prepared<List<UnitComparisonData>> prepared) {
+        unitsByDimensionVector.clear();
+        unitsByNormalizedFactors.clear();
+        unitsWithoutNormalizedFactors.clear();
+        unitRankingFeatures.clear();
+        unitMagnitudes.clear();
+        convertibleUnitsBySystem.clear();
+        for (UnitComparisonData data : prepared.data) {
+            Unit u = data.getUnit();
+            if (data.isIncompleteData()) {
+                System.err.println(
+                        "error calculating dimension vector for: " + u.getIriAbbreviated());
+                continue;
+            }
+            DimensionVector dv = data.getDimensionVector();
+            if (dv == null) {
+                continue;
+            }
+            unitsByDimensionVector
+                    .computeIfAbsent(dv, k -> new TreeSet<>(Comparator.comparing(Unit::getIri)))
+                    .add(u);
+            if (data.getNormalized() != null) {
+                unitsByNormalizedFactors
+                        .computeIfAbsent(
+                                normalizedFactorsKey(data.getNormalized()),
+                                k -> new ArrayList<>())
+                        .add(u);
+            } else if (!data.isInconvertible()) {
+                unitsWithoutNormalizedFactors.add(u);
+            }
+            indexRankingFeaturesAndMagnitude(data);
+        }
+        indexUnitsForComparison(unitsAddedSince(prepared), prepared.units);
+    }
+
+    /*
+     * Adds units to the comparison indexes after they have been built, and removes the units they
+     * replace (looked up in previousUnits) from the entries that the new units are not in. The
+     * sets and lists of the indexes are copied once for all units that go into them.
+     */
+    private void indexUnitsForComparison(List<Unit> addedUnits, Map<String, Unit> previousUnits) {
+        Map<DimensionVector, List<Unit>> byDimensionVector = new HashMap<>();
+        Map<Set<FactorUnit>, List<Unit>> byNormalizedFactors = new HashMap<>();
+        Map<DimensionVector, List<Unit>> replacedByDimensionVector = new HashMap<>();
+        Map<Set<FactorUnit>, List<Unit>> replacedByNormalizedFactors = new HashMap<>();
+        for (Unit u : addedUnits) {
+            UnitComparisonData data = UnitComparisonData.of(u);
+            Unit replaced = previousUnits.get(u.getIri());
+            if (replaced != null) {
+                UnitComparisonData replacedData = UnitComparisonData.of(replaced);
+                DimensionVector replacedDv = replacedData.getDimensionVector();
+                if (replacedDv != null && !replacedDv.equals(data.getDimensionVector())) {
+                    replacedByDimensionVector
+                            .computeIfAbsent(replacedDv, k -> new ArrayList<>())
+                            .add(replaced);
+                }
+                Set<FactorUnit> replacedKey = normalizedFactorsKey(replacedData);
+                if (replacedKey != null && !replacedKey.equals(normalizedFactorsKey(data))) {
+                    replacedByNormalizedFactors
+                            .computeIfAbsent(replacedKey, k -> new ArrayList<>())
+                            .add(replaced);
+                }
+                if (!isWithoutNormalizedFactors(data)) {
+                    unitsWithoutNormalizedFactors.remove(replaced);
+                }
+                if (data.getDimensionVector() == null || data.getRankingFeatures() == null) {
+                    unitRankingFeatures.remove(replaced);
+                }
+                if (data.getDimensionVector() == null || data.getMagnitude() == null) {
+                    unitMagnitudes.remove(replaced);
+                }
+            }
+            DimensionVector dv = data.getDimensionVector();
+            if (dv == null) {
+                continue;
+            }
+            byDimensionVector.computeIfAbsent(dv, k -> new ArrayList<>()).add(u);
+            if (data.getNormalized() != null) {
+                byNormalizedFactors
+                        .computeIfAbsent(normalizedFactorsKey(data), k -> new ArrayList<>())
+                        .add(u);
+            } else if (isWithoutNormalizedFactors(data)) {
+                int index = unitsWithoutNormalizedFactors.indexOf(u);
+                if (index >= 0) {
+                    unitsWithoutNormalizedFactors.set(index, u);
+                } else {
+                    unitsWithoutNormalizedFactors.add(u);
+                }
+            }
+            indexRankingFeaturesAndMagnitude(data);
+        }
+        for (Map.Entry<DimensionVector, List<Unit>> entry : byDimensionVector.entrySet()) {
+            unitsByDimensionVector.compute(
+                    entry.getKey(),
+                    (k, similarUnits) -> withSortedUnits(similarUnits, entry.getValue()));
+        }
+        for (Map.Entry<Set<FactorUnit>, List<Unit>> entry : byNormalizedFactors.entrySet()) {
+            unitsByNormalizedFactors.compute(
+                    entry.getKey(), (k, candidates) -> withUnits(candidates, entry.getValue()));
+        }
+        // removed last, so that readers find a unit that moves to another entry in one of them
+        for (Map.Entry<DimensionVector, List<Unit>> entry : replacedByDimensionVector.entrySet()) {
+            unitsByDimensionVector.computeIfPresent(
+                    entry.getKey(),
+                    (k, similarUnits) -> withoutSortedUnits(similarUnits, entry.getValue()));
+        }
+        for (Map.Entry<Set<FactorUnit>, List<Unit>> entry :
+                replacedByNormalizedFactors.entrySet()) {
+            unitsByNormalizedFactors.computeIfPresent(
+                    entry.getKey(), (k, candidates) -> withoutUnits(candidates, entry.getValue()));
+        }
+    }
+
+    /* Returns true if the unit is kept in unitsWithoutNormalizedFactors. */
+    private static boolean isWithoutNormalizedFactors(UnitComparisonData data) {
+        return data.getDimensionVector() != null
+                && data.getNormalized() == null
+                && !data.isInconvertible();
+    }
+
+    private void indexRankingFeaturesAndMagnitude(UnitComparisonData data) {
+        if (data.getRankingFeatures() != null) {
+            unitRankingFeatures.put(data.getUnit(), data.getRankingFeatures());
+        }
+        if (data.getMagnitude() != null) {
+            unitMagnitudes.put(data.getUnit(), data.getMagnitude());
+        }
+    }
+
+    /*
+     * Returns a copy of the units (which may be null) with the units added, or replacing the units
+     * with their IRIs in place.
+     */
+    private static List<Unit> withUnits(List<Unit> units, List<Unit> addedUnits) {
+        Map<Unit, Unit> copy = new LinkedHashMap<>();
+        if (units != null) {
+            units.forEach(u -> copy.put(u, u));
+        }
+        addedUnits.forEach(u -> copy.put(u, u));
+        return new ArrayList<>(copy.values());
+    }
+
+    /*
+     * Returns a copy of the units without the units with the IRIs of the removed units, or null if
+     * none are left.
+     */
+    private static List<Unit> withoutUnits(List<Unit> units, List<Unit> removedUnits) {
+        List<Unit> copy = new ArrayList<>(units);
+        copy.removeAll(removedUnits);
+        return copy.isEmpty() ? null : copy;
+    }
+
+    /* Returns a copy of the units sorted by IRI (which may be null) with the units added. */
+    private static SortedSet<Unit> withSortedUnits(SortedSet<Unit> units, List<Unit> addedUnits) {
+        SortedSet<Unit> copy = new TreeSet<>(Comparator.comparing(Unit::getIri));
+        if (units != null) {
+            copy.addAll(units);
+        }
+        for (Unit u : addedUnits) {
+            copy.remove(u);
+            copy.add(u);
+        }
+        return copy;
+    }
+
+    /* Returns a copy of the sorted units without the removed units, or null if none are left. */
+    private static SortedSet<Unit> withoutSortedUnits(
+            SortedSet<Unit> units, List<Unit> removedUnits) {
+        SortedSet<Unit> copy = new TreeSet<>(units);
+        removedUnits.forEach(copy::remove);
+        return copy.isEmpty() ? null : copy;
+    }
+
+    /*
+     * FactorUnits.equals() compares the factors as a set and the scale factors approximately, so
+     * only the factors can be used as a hash key.
+     */
+    private static Set<FactorUnit> normalizedFactorsKey(FactorUnits normalized) {
+        return Set.copyOf(normalized.getFactorUnits());
+    }
+
+    /* Returns the key of the unit in unitsByNormalizedFactors, or null if it is not in it. */
+    private static Set<FactorUnit> normalizedFactorsKey(UnitComparisonData data) {
+        if (data.getDimensionVector() == null || data.getNormalized() == null) {
+            return null;
+        }
+        return normalizedFactorsKey(data.getNormalized());
+    }
+
+    private void reindexUnitsForSearch() {
+        unitIndex.clear();
+        unitsByLabel.clear();
+        for (Unit u : units.values()) {
+            indexUnitLabels(u);
+            searchKeys(u).forEach(unitIndex::put);
+        }
+    }
+
+    /* Returns the keys under which the unit is found in the unitIndex. */
+    private static Map<String, Unit> searchKeys(Unit u) {
+        Map<String, Unit> keys = new LinkedHashMap<>();
+        keys.put(
+                UNIT_INDEX_KEYS.SYMBOL
+                        + u.getSymbol().orElse(UNIT_INDEX_KEYS.EMPTY_VALUE.toString()),
+                u);
+        u.getAltSymbols().forEach(symbol -> keys.put(UNIT_INDEX_KEYS.SYMBOL + symbol, u));
+        keys.put(
+                UNIT_INDEX_KEYS.UCUM_CODE
+                        + u.getUcumCode().orElse(UNIT_INDEX_KEYS.EMPTY_VALUE.toString()),
+                u);
+        keys.put(UNIT_INDEX_KEYS.IRI_LOCALNAME + u.getIriLocalname(), u);
+        u.getLabels().forEach(label -> keys.put(UNIT_INDEX_KEYS.LABEL + label.getString(), u));
+        return keys;
+    }
+
+    private void indexUnitLabels(Unit u) {
+        for (LangString label : u.getLabels()) {
+            putFirstUnit(unitsByLabel, LabelMatcher.normalizeCandidateLabel(label.getString()), u);
+        }
+    }
+
+    /*
+     * Adds units to the search indexes after they have been built, and removes the units they
+     * replace (looked up in previousUnits) from the keys that the new units do not have.
+     */
+    private void indexUnitsForSearch(List<Unit> addedUnits, Map<String, Unit> previousUnits) {
+        Map<String, List<Unit>> removedByKey = new HashMap<>();
+        Map<String, List<Unit>> addedByKey = new HashMap<>();
+        for (Unit unit : addedUnits) {
+            Unit replaced = previousUnits.get(unit.getIri());
+            if (replaced != null) {
+                Set<String> labels = new HashSet<>();
+                for (LangString label : unit.getLabels()) {
+                    labels.add(LabelMatcher.normalizeCandidateLabel(label.getString()));
+                }
+                for (LangString label : replaced.getLabels()) {
+                    String key = LabelMatcher.normalizeCandidateLabel(label.getString());
+                    if (!labels.contains(key)) {
+                        unitsByLabel.remove(key, replaced);
+                    }
+                }
+                for (String key : searchKeys(replaced).keySet()) {
+                    removedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(replaced);
+                }
+            }
+            indexUnitLabels(unit);
+            for (String key : searchKeys(unit).keySet()) {
+                addedByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(unit);
+            }
+        }
+        // the keys that the new units have as well are updated without being empty in between
+        unitIndex.update(removedByKey, addedByKey);
+    }
+
+    private void reindexScaledUnits() {
+        scaledUnitsByPrefix.clear();
+        scaledUnitsByPrefixLabel.clear();
+        scalingFamilies.clear();
+        for (Unit u : units.values()) {
+            indexScaledUnit(u);
+        }
+        indexKiloGram();
+    }
+
+    /* Special case: KiloGM is not a scaling of GM, it's the other way around. */
+    private void indexKiloGram() {
+        Unit kiloGram = units.get(KILOGM_IRI);
+        if (kiloGram == null) {
+            return;
+        }
+        Unit gram = units.get(QudtNamespaces.unit.makeIriInNamespace("GM"));
+        if (gram != null) {
+            putFirstUnit(
+                    scaledUnitsByPrefix.computeIfAbsent(
+                            QudtNamespaces.prefix.makeIriInNamespace("Kilo"),
+                            k -> new ConcurrentHashMap<>()),
+                    gram,
+                    kiloGram);
+        }
+        putFirstUnit(
+                scaledUnitsByPrefixLabel.computeIfAbsent("KILO", k -> new ConcurrentHashMap<>()),
+                "GRAM",
+                kiloGram);
+    }
+
+    /*
+     * Adds units to the scaled unit indexes after they have been built, and removes the units they
+     * replace (looked up in previousUnits) if their prefix or the unit they scale has changed.
+     */
+    private void indexScaledUnits(List<Unit> addedUnits, Map<String, Unit> previousUnits) {
+        for (Unit unit : addedUnits) {
+            Unit replaced = previousUnits.get(unit.getIri());
+            if (replaced != null) {
+                unindexScaledUnit(replaced, unit);
+                // the replaced unit may be the base unit of a family
+                scalingFamilies.computeIfPresent(unit, (k, family) -> family.withBaseUnit(unit));
+            }
+            indexScaledUnit(unit);
+            if (unit.getIri().equals(KILOGM_IRI)) {
+                indexKiloGram();
+            }
+        }
+    }
+
+    private void unindexScaledUnit(Unit replaced, Unit unit) {
+        if (replaced.getPrefix().isEmpty()
+                || replaced.getScalingOf().isEmpty()
+                || (replaced.getPrefix().equals(unit.getPrefix())
+                        && replaced.getScalingOf().equals(unit.getScalingOf()))) {
+            return;
+        }
+        Prefix prefix = replaced.getPrefix().get();
+        Unit baseUnit = replaced.getScalingOf().get();
+        Map<Unit, Unit> byBaseUnit = scaledUnitsByPrefix.get(prefix.getIri());
+        if (byBaseUnit != null) {
+            byBaseUnit.remove(baseUnit, replaced);
+        }
+        for (LangString prefixLabel : prefix.getLabels()) {
+            Map<String, Unit> byBaseUnitLabel =
+                    scaledUnitsByPrefixLabel.get(prefixLabel.getString().toUpperCase(Locale.ROOT));
+            if (byBaseUnitLabel == null) {
+                continue;
+            }
+            for (LangString baseUnitLabel : baseUnit.getLabels()) {
+                byBaseUnitLabel.remove(
+                        LabelMatcher.normalizeCandidateLabel(baseUnitLabel.getString()), replaced);
+            }
+        }
+        scalingFamilies.computeIfPresent(baseUnit, (k, family) -> family.without(replaced));
+    }
+
+    private void indexScaledUnit(Unit u) {
+        if (u.getPrefix().isEmpty() || u.getScalingOf().isEmpty()) {
+            return;
+        }
+        Prefix prefix = u.getPrefix().get();
+        Unit baseUnit = u.getScalingOf().get();
+        putFirstUnit(
+                scaledUnitsByPrefix.computeIfAbsent(
+                        prefix.getIri(), k -> new ConcurrentHashMap<>()),
+                baseUnit,
+                u);
+        for (LangString prefixLabel : prefix.getLabels()) {
+            Map<String, Unit> byBaseUnitLabel =
+                    scaledUnitsByPrefixLabel.computeIfAbsent(
+                            prefixLabel.getString().toUpperCase(Locale.ROOT),
+                            k -> new ConcurrentHashMap<>());
+            for (LangString baseUnitLabel : baseUnit.getLabels()) {
+                putFirstUnit(
+                        byBaseUnitLabel,
+                        LabelMatcher.normalizeCandidateLabel(baseUnitLabel.getString()),
+                        u);
+            }
+        }
+        scalingFamilies.compute(
+                baseUnit,
+                (k, family) -> family == null ? new ScalingFamily(k, List.of(u)) : family.with(u));
+    }
+
+    private Prepared<UnitSystemMembership> prepareSystemMembership() {
+        Map<String, Unit> snapshot = units;
+        return new Prepared<>(
+                snapshot, new UnitSystemMembership(systemsOfUnits.values(), snapshot.values()));
+    }
+
+    private void reindexSystemMembership(Prepared<UnitSystemMembership> prepared) {
+        unitSystemMembership = prepared.data.with(unitsAddedSince(prepared));
+    }
+
+    /** Adds the unit unless there is another unit for the key, or replaces a unit with its IRI. */
+    private static <K> void putFirstUnit(Map<K, Unit> index, K key, Unit unit) {
+        index.merge(
+                key,
+                unit,
+                (existing, added) -> existing.getIri().equals(added.getIri()) ? added : existing);
+    }
+
+    /*
+     * public methods
+     */
+
+    /**
+     * Builds the indexes of this context. See {@link Qudt#prewarmIndexes()}.
+     *
+     * <p>The indexes are built concurrently unless parallel indexing is disabled.
+     */
+    public void prewarmIndexes() {
+        ParallelIndexing.runAll(
+                searchIndexes::ensureBuilt,
+                comparisonIndexes::ensureBuilt,
+                scaledUnitIndexes::ensureBuilt,
+                systemMembershipIndex::ensureBuilt);
+    }
+
+    /* Returns true if any of the indexes has been built, for tests. */
+    boolean isAnyIndexBuilt() {
+        return searchIndexes.isBuilt()
+                || comparisonIndexes.isBuilt()
+                || scaledUnitIndexes.isBuilt()
+                || systemMembershipIndex.isBuilt();
+    }
+
+    /**
+     * Returns the {@link Unit} identified the specified IRI.
+     *
+     * @param iri the requested unit IRI
+     * @return the unit
+     */
+    public Optional<Unit> unit(String iri) {
+        return Optional.ofNullable(units.get(iri));
+    }
+
+    public Unit unitRequired(String iri) {
+        return unit(iri).orElseThrow(() -> new NotFoundException("No unit found for Iri " + iri));
+    }
+
+    /**
+     * Returns the {@link Unit} with the specified id (see {@link Unit#getId()}).
+     *
+     * @param id the id of the requested unit
+     * @return the unit, or empty if there is no unit with that id
+     */
+    public Optional<Unit> unitById(int id) {
+        return byId(unitsById, id);
+    }
+
+    /**
+     * Returns a {@link Unit} for the specified localname (i.e. the last element of the Unit IRI).
+     *
+     * @param localname the local name of the IRI that identifies the requested unit.
+     * @return the unit
+     */
+    public Optional<Unit> unitFromLocalname(String localname) {
+        return unit(QudtNamespaces.unit.makeIriInNamespace(localname));
+    }
+
+    public Unit unitFromLocalnameRequired(String localname) {
+        return unitRequired(QudtNamespaces.unit.makeIriInNamespace(localname));
+    }
+
+    /**
+     * Returns the first unit found whose label matches the specified label after replacing any
+     * underscore with space and ignoring case (US locale).
+     *
+     * @param label the matched label
+     * @return the first unit found
+     */
+    public Optional<Unit> unitFromLabel(String label) {
+        searchIndexes.ensureBuilt();
+        return Optional.ofNullable(unitsByLabel.get(LabelMatcher.normalizeLabelToMatch(label)));
+    }
+
+    public Unit unitFromLabelRequired(String label) {
+        return unitFromLabel(label)
+                .orElseThrow(
+                        () -> new NotFoundException("No unit found for label '" + label + "'"));
+    }
+
+    public Set<Unit> unitsByIriLocalname(
+            String iriLocalname, boolean matchPrefix, boolean caseInsensitive) {
+        return searchUnits(
+                UNIT_INDEX_KEYS.IRI_LOCALNAME + iriLocalname, matchPrefix, caseInsensitive);
+    }
+
+    public Set<Unit> unitsBySymbol(String symbol, boolean matchPrefix, boolean caseInsensitive) {
+        return searchUnits(UNIT_INDEX_KEYS.SYMBOL + symbol, matchPrefix, caseInsensitive);
+    }
+
+    public Set<Unit> unitsByUcumCode(
+            String ucumCode, boolean matchPrefix, boolean caseInsensitive) {
+        return searchUnits(UNIT_INDEX_KEYS.UCUM_CODE + ucumCode, matchPrefix, caseInsensitive);
+    }
+
+    public Set<Unit> unitsByLabel(String label, boolean matchPrefix, boolean caseInsensitive) {
+        return searchUnits(UNIT_INDEX_KEYS.LABEL + label, matchPrefix, caseInsensitive);
+    }
+
+    private Set<Unit> searchUnits(String key, boolean matchPrefix, boolean caseInsensitive) {
+        searchIndexes.ensureBuilt();
+        return unitIndex.get(
+                key, Flag.matchPrefix(matchPrefix).caseInsensitive(caseInsensitive).getBits());
+    }
+
+    public Unit scale(String prefixLabel, String baseUnitLabel) {
+        scaledUnitIndexes.ensureBuilt();
+        return Optional.ofNullable(
+                        scaledUnitsByPrefixLabel.get(prefixLabel.toUpperCase(Locale.ROOT)))
+                .map(m -> m.get(LabelMatcher.normalizeLabelToMatch(baseUnitLabel)))
+                .orElseThrow(
+                        () ->
+                                new NotFoundException(
+                                        String.format(
+                                                "No scaled unit found with base unit '%s' and prefix '%s'",
+                                                baseUnitLabel, prefixLabel)));
+    }
+
+    /**
+     * Returns the unit resulting from scaling the specified {@code unit} with the specified {@code
+     * prefix}.
+     *
+     * @param prefix the prefix to use for scaling
+     * @param baseUnit the unit to scale
+     * @return the resulting unit
+     * @throws NotFoundException if no such unit is present in the model.
+     */
+    public Unit scale(Prefix prefix, Unit baseUnit) {
+        scaledUnitIndexes.ensureBuilt();
+        return Optional.ofNullable(scaledUnitsByPrefix.get(prefix.getIri()))
+                .map(m -> m.get(baseUnit))
+                .orElseThrow(
+                        () ->
+                                new NotFoundException(
+                                        String.format(
+                                                "No scaled unit found with base unit '%s' and prefix '%s'",
+                                                baseUnit, prefix)));
+    }
+
+    /**
+     * Returns the specified {@code value} expressed in the unit of its scaling family that keeps
+     * the number between 1 and 1000, if possible. See {@link Qudt#bestScaledUnit(QuantityValue)}.
+     *
+     * @param value the value to rescale
+     * @return the value in the best scaled unit
+     */
+    public QuantityValue bestScaledUnit(QuantityValue value) {
+        return bestScaledUnit(value, null);
+    }
+
+    /**
+     * Returns the specified {@code value} expressed in the unit of its scaling family that keeps
+     * the number between 1 and 1000, if possible, considering only units allowed in the specified
+     * {@code systemOfUnits}. See {@link Qudt#bestScaledUnit(QuantityValue, SystemOfUnits)}.
+     *
+     * @param value the value to rescale
+     * @param systemOfUnits the system the resulting unit must be allowed in, or {@code null} to
+     *     allow any unit
+     * @return the value in the best scaled unit
+     */
+    public QuantityValue bestScaledUnit(QuantityValue value, SystemOfUnits systemOfUnits) {
+        scaledUnitIndexes.ensureBuilt();
+        Unit unit = value.getUnit();
+        ScalingFamily family = scalingFamilies.get(ScalingFamily.scalingBaseOf(unit));
+        if (family == null || value.getValue().signum() == 0) {
+            return value;
+        }
+        Optional<BigDecimal> multiplier = family.multiplierOf(unit);
+        if (multiplier.isEmpty()) {
+            return value;
+        }
+        BigDecimal magnitude = value.getValue().abs().multiply(multiplier.get());
+        Predicate<Unit> allowed =
+                systemOfUnits == null ? u -> true : u -> isUnitOfSystem(u, systemOfUnits);
+        Unit target = family.bestUnit(magnitude, allowed).orElse(unit);
+        if (target.equals(unit)) {
+            return value;
+        }
+        return value.convert(target);
+    }
+
+    /**
+     * Obtains units based on factor units. See {@link Qudt#unitsFromMap(DerivedUnitSearchMode,
+     * Map)}.
+     *
+     * @param searchMode the {@link DerivedUnitSearchMode} to use
+     * @param factorUnits a map containing unit to exponent entries.
+     * @return the derived units that match the given factor units
+     */
+    public List<Unit> unitsFromMap(
+            DerivedUnitSearchMode searchMode, Map<Unit, Integer> factorUnits) {
+        return unitsFromUnitExponentPairs(
+                searchMode,
+                factorUnits.entrySet().stream()
+                        .flatMap(e -> Stream.of(e.getKey(), e.getValue()))
+                        .toArray());
+    }
+
+    /**
+     * Obtains units based on factor units.
+     *
+     * @param searchMode the {@link DerivedUnitSearchMode} to use
+     * @param factorUnits the factor units
+     * @return the derived unit that match the given factor units
+     * @see #unitsFromMap(DerivedUnitSearchMode, Map)
+     */
+    public List<Unit> unitsFromFactorUnits(
+            DerivedUnitSearchMode searchMode, List<FactorUnit> factorUnits) {
+        return derivedUnitListFromFactorUnits(searchMode, new FactorUnits(factorUnits));
+    }
+
+    /**
+     * Vararg method, must be an even number of arguments, always alternating types of Unit|String
+     * and Integer. See {@link Qudt#unitsFromUnitExponentPairs(DerivedUnitSearchMode, Object...)}.
+     *
+     * @param searchMode the {@link DerivedUnitSearchMode} to use
+     * @param factorUnitSpec alternating (unit, exponent) pairs. The unit can be specified as {@link
+     *     Unit} or String. In the latter case, it can be a unit IRI, a unit IRI's local name or a
+     *     unit's label. The exponent must be an Integer.
+     * @return the units that match
+     */
+    public List<Unit> unitsFromUnitExponentPairs(
+            DerivedUnitSearchMode searchMode, final Object... factorUnitSpec) {
+        Object[] spec = new Object[factorUnitSpec.length];
+        for (int i = 0; i < factorUnitSpec.length; i++) {
+            if (i % 2 == 0 && factorUnitSpec[i] instanceof Unit) {
+                spec[i] = factorUnitSpec[i];
+            } else if (i % 2 == 0 && factorUnitSpec[i] instanceof String) {
+                String unitString = (String) factorUnitSpec[i];
+                Optional<Unit> unitOpt = unit(unitString);
+                if (unitOpt.isEmpty()) {
+                    unitOpt = unitFromLocalname(unitString);
+                }
+                if (unitOpt.isEmpty()) {
+                    unitOpt = unitFromLabel(unitString);
+                }
+                if (unitOpt.isEmpty()) {
+                    throw new NotFoundException(
+                            String.format(
+                                    "Unable to find unit for string %s, interpreted as iri, label, or localname",
+                                    unitString));
+                }
+                spec[i] = unitOpt.get();
+            } else if (i % 2 == 1 && factorUnitSpec[i] instanceof Integer) {
+                spec[i] = factorUnitSpec[i];
+            } else {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Cannot handle input '%s' at 0-base position %d",
+                                factorUnitSpec[i].toString(), i));
+            }
+        }
+        FactorUnits selection = FactorUnits.ofFactorUnitSpec(spec);
+        return derivedUnitListFromFactorUnits(searchMode, selection);
+    }
+
+    private List<Unit> derivedUnitListFromFactorUnits(
+            DerivedUnitSearchMode searchMode, FactorUnits selection) {
+        comparisonIndexes.ensureBuilt();
+        DimensionVector dimensionVector = selection.getDimensionVector();
+        if (!unitsByDimensionVector.containsKey(dimensionVector)) {
+            return List.of();
+        }
+        FactorUnits selectionNormalized;
+        try {
+            selectionNormalized = selection.normalize();
+        } catch (InconvertibleQuantitiesException e) {
+            return List.of();
+        }
+        List<Unit> candidates =
+                unitsByNormalizedFactors.getOrDefault(
+                        normalizedFactorsKey(selectionNormalized), List.of());
+        Set<Unit> matchingUnits =
+                Stream.concat(candidates.stream(), unitsWithoutNormalizedFactors.stream())
+                        .filter(u -> dimensionVector.equals(u.getDimensionVector().orElse(null)))
+                        .filter(u -> u.matches(selection))
+                        .collect(Collectors.toSet());
+        BestMatchRanking ranking = new BestMatchRanking(selection);
+        if (searchMode == DerivedUnitSearchMode.ALL || matchingUnits.size() < 2) {
+            return ranking.sort(matchingUnits, this::rankingFeatures);
+        }
+
+        List<Unit> bestMatch = new ArrayList<>(1);
+        ranking.best(matchingUnits, this::rankingFeatures).ifPresent(bestMatch::add);
+        return bestMatch;
+    }
+
+    public List<Unit> unitsWithSameFractionalDimensionVector(Unit unit) {
+        Objects.requireNonNull(unit);
+        FractionalDimensionVector fdv = FractionalUnits.getFractionalDimensionVector(unit);
+        return units.values().stream()
+                .filter(
+                        u -> {
+                            try {
+                                return fdv.equals(FractionalUnits.getFractionalDimensionVector(u));
+                            } catch (Exception e) {
+                                return false;
+                            }
+                        })
+                .collect(Collectors.toList());
+    }
+
+    Comparator<Unit> bestMatchForFactorUnitsComparator(FactorUnits requestedFactorUnits) {
+        return new BestMatchRanking(requestedFactorUnits).comparator(this::rankingFeatures);
+    }
+
+    private UnitRankingFeatures rankingFeatures(Unit unit) {
+        comparisonIndexes.ensureBuilt();
+        UnitRankingFeatures features = unitRankingFeatures.get(unit);
+        if (features == null || features.getUnit() != unit) {
+            return UnitRankingFeatures.of(unit);
+        }
+        return features;
+    }
+
+    /**
+     * Returns the {@link QuantityKind} identified the specified IRI.
+     *
+     * @param iri the requested quantityKind IRI
+     * @return the quantityKind
+     */
+    public Optional<QuantityKind> quantityKind(String iri) {
+        return Optional.ofNullable(quantityKinds.get(iri));
+    }
+
+    public QuantityKind quantityKindRequired(String iri) {
+        return quantityKind(iri)
+                .orElseThrow(() -> new NotFoundException("QuantityKind not found: " + iri));
+    }
+
+    /**
+     * Returns the {@link QuantityKind} with the specified id (see {@link QuantityKind#getId()}).
+     *
+     * @param id the id of the requested quantityKind
+     * @return the quantityKind, or empty if there is no quantityKind with that id
+     */
+    public Optional<QuantityKind> quantityKindById(int id) {
+        return byId(quantityKindsById, id);
+    }
+
+    public Optional<QuantityKind> quantityKindFromLocalname(String localname) {
+        return quantityKind(QudtNamespaces.quantityKind.makeIriInNamespace(localname));
+    }
+
+    public QuantityKind quantityKindFromLocalnameRequired(String localname) {
+        return quantityKindRequired(QudtNamespaces.quantityKind.makeIriInNamespace(localname));
+    }
+
+    /**
+     * Returns the {@link Prefix} identified the specified IRI.
+     *
+     * @param iri the requested prefix IRI
+     * @return the prefix
+     */
+    public Optional<Prefix> prefix(String iri) {
+        return Optional.ofNullable(prefixes.get(iri));
+    }
+
+    public Prefix prefixRequired(String iri) {
+        return prefix(iri).orElseThrow(() -> new NotFoundException("Prefix not found: " + iri));
+    }
+
+    /**
+     * Returns the {@link Prefix} with the specified id (see {@link Prefix#getId()}).
+     *
+     * @param id the id of the requested prefix
+     * @return the prefix, or empty if there is no prefix with that id
+     */
+    public Optional<Prefix> prefixById(int id) {
+        return byId(prefixesById, id);
+    }
+
+    public Optional<Prefix> prefixFromLocalname(String localname) {
+        return prefix(QudtNamespaces.prefix.makeIriInNamespace(localname));
+    }
+
+    public Prefix prefixFromLocalnameRequired(String localname) {
+        return prefixRequired(QudtNamespaces.prefix.makeIriInNamespace(localname));
+    }
+
+    /**
+     * Returns the {@link ConstantValue} identified the specified IRI.
+     *
+     * @param iri the requested constantValue IRI
+     * @return the constantValue
+     */
+    public Optional<ConstantValue> constantValue(String iri) {
+        return Optional.ofNullable(constantValues.get(iri));
+    }
+
+    public ConstantValue constantValueRequired(String iri) {
+        return constantValue(iri)
+                .orElseThrow(() -> new NotFoundException("ConstantValue not found: " + iri));
+    }
+
+    /**
+     * Returns the {@link PhysicalConstant} identified the specified IRI.
+     *
+     * @param iri the requested physicalConstant IRI
+     * @return the physicalConstant
+     */
+    public Optional<PhysicalConstant> physicalConstant(String iri) {
+        return Optional.ofNullable(physicalConstants.get(iri));
+    }
+
+    public PhysicalConstant physicalConstantRequired(String iri) {
+        return physicalConstant(iri)
+                .orElseThrow(() -> new NotFoundException("PhysicalConstant not found: " + iri));
+    }
+
+    /**
+     * Returns the {@link SystemOfUnits} identified the specified IRI.
+     *
+     * @param iri the requested systemOfUnits IRI
+     * @return the systemOfUnits
+     */
+    public Optional<SystemOfUnits> systemOfUnits(String iri) {
+        return Optional.ofNullable(systemsOfUnits.get(iri));
+    }
+
+    public SystemOfUnits systemOfUnitsRequired(String iri) {
+        return systemOfUnits(iri)
+                .orElseThrow(() -> new NotFoundException("No systemOfUnits found for Iri " + iri));
+    }
+
+    /**
+     * Returns the {@link SystemOfUnits} with the specified id (see {@link SystemOfUnits#getId()}).
+     *
+     * @param id the id of the requested systemOfUnits
+     * @return the systemOfUnits, or empty if there is no systemOfUnits with that id
+     */
+    public Optional<SystemOfUnits> systemOfUnitsById(int id) {
+        return byId(systemsOfUnitsById, id);
+    }
+
+    /**
+     * Returns the first systemOfUnits found whose label matches the specified label after replacing
+     * any underscore with space and ignoring case (US locale).
+     *
+     * @param label the matched label
+     * @return the first systemOfUnits found
+     */
+    public Optional<SystemOfUnits> systemOfUnitsFromLabel(String label) {
+        LabelMatcher labelMatcher = new LabelMatcher(label);
+        return systemsOfUnits.values().stream()
+                .filter(u -> u.getLabels().stream().anyMatch(labelMatcher::matches))
+                .findFirst();
+    }
+
+    public Collection<Unit> allUnits() {
+        return Collections.unmodifiableCollection(units.values());
+    }
+
+    public Collection<QuantityKind> allQuantityKinds() {
+        return Collections.unmodifiableCollection(quantityKinds.values());
+    }
+
+    public Collection<Prefix> allPrefixes() {
+        return Collections.unmodifiableCollection(prefixes.values());
+    }
+
+    public Collection<SystemOfUnits> allSystemsOfUnits() {
+        return Collections.unmodifiableCollection(systemsOfUnits.values());
+    }
+
+    public Collection<PhysicalConstant> allPhysicalConstants() {
+        return Collections.unmodifiableCollection(physicalConstants.values());
+    }
+
+    public Collection<ConstantValue> allConstantValues() {
+        return Collections.unmodifiableCollection(constantValues.values());
+    }
+
+    Map<String, Prefix> getPrefixesMap() {
+        return Collections.unmodifiableMap(prefixes);
+    }
+
+    Map<String, QuantityKind> getQuantityKindsMap() {
+        return Collections.unmodifiableMap(quantityKinds);
+    }
+
+    Map<String, Unit> getUnitsMap() {
+        return Collections.unmodifiableMap(units);
+    }
+
+    Map<String, SystemOfUnits> getSystemsOfUnitsMap() {
+        return Collections.unmodifiableMap(systemsOfUnits);
+    }
+
+    Map<String, PhysicalConstant> getPhysicalConstantsMap() {
+        return Collections.unmodifiableMap(physicalConstants);
+    }
+
+    Map<String, ConstantValue> getConstantValuesMap() {
+        return Collections.unmodifiableMap(constantValues);
+    }
+
+    public Collection<Unit> allUnitsOfSystem(SystemOfUnits system) {
+        systemMembershipIndex.ensureBuilt();
+        return unitSystemMembership.unitsOf(system).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Returns true if the specified {@code system} allows the specified {@code unit}, as decided by
+     * {@link SystemOfUnits#allowsUnit(Unit)}.
+     *
+     * @param unit the unit to check
+     * @param system the system of units
+     * @return true if the unit is allowed in the system
+     */
+    public boolean isUnitOfSystem(Unit unit, SystemOfUnits system) {
+        systemMembershipIndex.ensureBuilt();
+        return unitSystemMembership.allowsUnit(system, unit);
+    }
+
+    /**
+     * Returns the first unit obtained using {@link #correspondingUnitsInSystem(Unit,
+     * SystemOfUnits)}.
+     *
+     * @return the unit corresponding to the specified unit in the specified systemOfUnits.
+     */
+    public Optional<Unit> correspondingUnitInSystem(Unit unit, SystemOfUnits systemOfUnits) {
+        return correspondingUnitsInSystem(unit, systemOfUnits).stream().findFirst();
+    }
+
+    /**
+     * Gets units that correspond to the specified unit are allowed in the specified systemOfUnits.
+     * See {@link Qudt#correspondingUnitsInSystem(Unit, SystemOfUnits)}.
+     *
+     * @param unit the unit
+     * @param systemOfUnits the system of units
+     * @return the corresponding units, closest in magnitude first
+     */
+    public List<Unit> correspondingUnitsInSystem(Unit unit, SystemOfUnits systemOfUnits) {
+        systemMembershipIndex.ensureBuilt();
+        if (unitSystemMembership.allowsUnit(systemOfUnits, unit)) {
+            return List.of(unit);
+        }
+        List<Unit> elegible =
+                convertibleUnitsInSystem(unit, systemOfUnits).stream()
+                        .filter(u -> !u.equals(unit))
+                        .collect(Collectors.toList());
+        if (elegible.size() == 1) {
+            return elegible;
+        }
+        List<Unit> candidates = new ArrayList(elegible);
+        // get the unit that is closest in magnitude (conversionFactor)
+        // recursively check for factor units
+        candidates = new ArrayList(elegible);
+        candidates.removeIf(
+                u ->
+                        !u.getQuantityKinds().stream()
+                                .anyMatch(q -> unit.getQuantityKinds().contains(q)));
+        if (candidates.size() == 1) {
+            return candidates;
+        }
+        UnitMagnitude unitMagnitude = magnitude(unit);
+        Map<Unit, UnitMagnitude> candidateMagnitudes = new HashMap<>();
+        for (Unit candidate : candidates) {
+            candidateMagnitudes.put(candidate, magnitude(candidate));
+        }
+        candidates.sort(
+                (Unit l, Unit r) -> {
+                    UnitMagnitude magnitudeL = candidateMagnitudes.get(l);
+                    UnitMagnitude magnitudeR = candidateMagnitudes.get(r);
+                    double scaleDiffL =
+                            Math.abs(
+                                    magnitudeL.getLog10Multiplier()
+                                            - unitMagnitude.getLog10Multiplier());
+                    double scaleDiffR =
+                            Math.abs(
+                                    magnitudeR.getLog10Multiplier()
+                                            - unitMagnitude.getLog10Multiplier());
+                    double diff = Math.signum(scaleDiffL - scaleDiffR);
+                    if (diff != 0) {
+                        return (int) diff;
+                    }
+                    // tie breaker: base unit ranked before non-base unit
+                    int cmp =
+                            Boolean.compare(
+                                    systemOfUnits.hasBaseUnit(r), systemOfUnits.hasBaseUnit(l));
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    // tie breaker: closer offset
+                    double offsetDiffL =
+                            Math.abs(magnitudeL.getLog10Offset() - unitMagnitude.getLog10Offset());
+                    double offsetDiffR =
+                            Math.abs(magnitudeR.getLog10Offset() - unitMagnitude.getLog10Offset());
+                    cmp = (int) Math.signum(offsetDiffL - offsetDiffR);
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    // tie breaker: perfer unit that is not scaled
+                    cmp = Boolean.compare(l.isScaled(), r.isScaled());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    // tie breaker prefer the unit that has a symbol (it's more likely to be
+                    // commonly used):
+                    cmp = Boolean.compare(r.getSymbol().isPresent(), l.getSymbol().isPresent());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    // tie breaker: prefer unit with more quantity kinds (it's less specific)
+                    cmp = Integer.compare(l.getQuantityKinds().size(), r.getQuantityKinds().size());
+                    if (cmp != 0) {
+                        return cmp;
+                    }
+                    // tie breaker: lexicographically compare iris.
+                    return l.getIri().compareTo(r.getIri());
+                });
+        return candidates;
+    }
+
+    /**
+     * Returns the units allowed in the specified system that are convertible to the specified unit
+     * (including the unit itself, if it is allowed). The result is cached per system and dimension
+     * vector.
+     */
+    private List<Unit> convertibleUnitsInSystem(Unit unit, SystemOfUnits systemOfUnits) {
+        Optional<DimensionVector> dimensionVector = unit.getDimensionVector();
+        if (dimensionVector.isEmpty()) {
+            return findConvertibleUnitsInSystem(unit, systemOfUnits);
+        }
+        return convertibleUnitsBySystem
+                .computeIfAbsent(systemOfUnits, s -> new ConcurrentHashMap<>())
+                .computeIfAbsent(
+                        dimensionVector.get(),
+                        dv -> findConvertibleUnitsInSystem(unit, systemOfUnits));
+    }
+
+    private List<Unit> findConvertibleUnitsInSystem(Unit unit, SystemOfUnits systemOfUnits) {
+        return unitSystemMembership
+                .unitsOf(systemOfUnits)
+                .filter(u -> u.isConvertible(unit))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private UnitMagnitude magnitude(Unit unit) {
+        comparisonIndexes.ensureBuilt();
+        UnitMagnitude magnitude = unitMagnitudes.get(unit);
+        if (magnitude == null || magnitude.getUnit() != unit) {
+            return UnitMagnitude.of(unit);
+        }
+        return magnitude;
+    }
+
+    /**
+     * Adds the quantity kind to this context, or replaces the quantity kind with the same IRI. May
+     * be called while other threads use the context; see {@link #addUnit(Unit)}.
+     *
+     * @param quantityKind the quantity kind to add
+     */
+    public void addQuantityKind(QuantityKind quantityKind) {
+        synchronized (registryLock) {
+            QuantityKind replaced = quantityKinds.get(quantityKind.getIri());
+            quantityKinds = withEntry(quantityKinds, quantityKind.getIri(), quantityKind);
+            QuantityKind[] byId = quantityKindsById.clone();
+            replaceById(byId, replaced, quantityKind, QuantityKind::getId, QuantityKind::getIri);
+            quantityKindsById = byId;
+            modelVersion++;
+        }
+    }
+
+    /**
+     * Adds the unit to this context, or replaces the unit with the same IRI, and adds it to the
+     * indexes that have already been built (the others include it when they are built).
+     *
+     * <p>This method may be called while other threads use the context. Readers are never blocked;
+     * they see each index entry either with or without the added unit. Additions are serialized,
+     * and each one copies the map of all units, so use {@link #addUnits(Collection)} to add many
+     * units.
+     *
+     * @param unit the unit to add
+     */
+    public void addUnit(Unit unit) {
+        addUnits(List.of(unit));
+    }
+
+    /**
+     * Adds the units to this context like {@link #addUnit(Unit)}, copying the map of all units once
+     * for all of them. If several of the units have the same IRI, the last one wins.
+     *
+     * @param addedUnits the units to add
+     */
+    public void addUnits(Collection<Unit> addedUnits) {
+        Map<String, Unit> addedByIri = new LinkedHashMap<>();
+        addedUnits.forEach(u -> addedByIri.put(u.getIri(), u));
+        List<Unit> added = List.copyOf(addedByIri.values());
+        synchronized (registryLock) {
+            Map<String, Unit> previousUnits = units;
+            Map<String, Unit> unitsCopy = new HashMap<>(previousUnits);
+            Unit[] byId = unitsById.clone();
+            for (Unit unit : added) {
+                Unit replaced = unitsCopy.put(unit.getIri(), unit);
+                replaceById(byId, replaced, unit, Unit::getId, Unit::getIri);
+            }
+            units = Collections.unmodifiableMap(unitsCopy);
+            unitsById = byId;
+            searchIndexes.ifBuilt(() -> indexUnitsForSearch(added, previousUnits));
+            scaledUnitIndexes.ifBuilt(() -> indexScaledUnits(added, previousUnits));
+            comparisonIndexes.ifBuilt(() -> indexUnitsForComparison(added, previousUnits));
+            systemMembershipIndex.ifBuilt(
+                    () -> unitSystemMembership = unitSystemMembership.with(added));
+            convertibleUnitsBySystem.clear();
+            modelVersion++;
+        }
+    }
+
+    /**
+     * Returns a number that changes whenever a unit or quantity kind is added to this context, so
+     * that results derived from the model can be discarded when they may be outdated.
+     */
+    long getModelVersion() {
+        return modelVersion;
+    }
+
+    private static <T> Map<String, T> withEntry(Map<String, T> map, String key, T value) {
+        Map<String, T> copy = new HashMap<>(map);
+        copy.put(key, value);
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Replaces the entity with the same IRI in the array, which must not have been published yet.
+     * If the replaced entity has another id than the new one, for example because the new one was
+     * created at runtime and has no id, its slot is cleared, so that its id no longer finds it.
+     */
+    private static <T> void replaceById(
+            T[] byId, T replaced, T entity, ToIntFunction<T> getId, Function<T, String> getIri) {
+        int id = getId.applyAsInt(entity);
+        if (replaced != null) {
+            int replacedId = getId.applyAsInt(replaced);
+            if (replacedId != id
+                    && replacedId >= 0
+                    && replacedId < byId.length
+                    && byId[replacedId] == replaced) {
+                byId[replacedId] = null;
+            }
+        }
+        if (id >= 0
+                && id < byId.length
+                && byId[id] != null
+                && getIri.apply(byId[id]).equals(getIri.apply(entity))) {
+            byId[id] = entity;
+        }
+    }
+
+    private static class LabelMatcher {
+        private final String labelToMatch;
+
+        public LabelMatcher(String labelToMatch) {
+            this.labelToMatch = normalizeLabelToMatch(labelToMatch);
+        }
+
+        static String normalizeLabelToMatch(String labelToMatch) {
+            return labelToMatch.replace('_', ' ').toUpperCase(Locale.ROOT);
+        }
+
+        static String normalizeCandidateLabel(String candidateLabel) {
+            return candidateLabel.toUpperCase(Locale.ROOT);
+        }
+
+        public boolean matches(LangString candidateLabel) {
+            return matches(candidateLabel.getString());
+        }
+
+        public boolean matches(String candiateLabel) {
+            return normalizeCandidateLabel(candiateLabel).equals(labelToMatch);
+        }
+    }
+}
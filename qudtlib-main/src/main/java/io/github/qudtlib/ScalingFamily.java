@@ -0,0 +1,153 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.model.Unit;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A base unit together with the units that scale it by a power of 1000, sorted by their multiplier
+ * relative to the base unit. The base unit is part of the family with multiplier 1.
+ *
+ * <p>The multiplier of a scaled unit is the ratio of its conversion multiplier to that of the base
+ * unit, not the multiplier of its prefix: the prefix applies before the power, so MilliM2 is 1e-6
+ * M2 and DeciM3 is 1e-3 M3.
+ *
+ * <p>Used to find the unit in which a value's magnitude is between 1 and 1000.
+ */
+final class ScalingFamily {
+    private final Unit baseUnit;
+    private final List<Unit> scaledUnits;
+    private final Unit[] units;
+    private final BigDecimal[] multipliers;
+
+    ScalingFamily(Unit baseUnit, List<Unit> scaledUnits) {
+        this.baseUnit = baseUnit;
+        this.scaledUnits = List.copyOf(scaledUnits);
+        List<Unit> members = new ArrayList<>();
+        members.add(baseUnit);
+        List<BigDecimal> memberMultipliers = new ArrayList<>();
+        memberMultipliers.add(BigDecimal.ONE);
+        for (Unit unit : scaledUnits) {
+            BigDecimal multiplier = multiplierOf(unit).orElse(null);
+            if (unit.isDeprecated()
+                    || multiplier == null
+                    || !isPowerOfThousand(multiplier)
+                    || memberMultipliers.stream().anyMatch(m -> m.compareTo(multiplier) == 0)) {
+                continue;
+            }
+            members.add(unit);
+            memberMultipliers.add(multiplier);
+        }
+        Integer[] order = new Integer[members.size()];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, Comparator.comparing(memberMultipliers::get));
+        this.units = Arrays.stream(order).map(members::get).toArray(Unit[]::new);
+        this.multipliers =
+                Arrays.stream(order).map(memberMultipliers::get).toArray(BigDecimal[]::new);
+    }
+
+    /**
+     * Returns the unit whose multiplier is the scaling base of the specified unit, i.e. the unit
+     * itself unless it is a prefixed scaling of another unit.
+     */
+    static Unit scalingBaseOf(Unit unit) {
+        if (unit.getPrefix().isPresent() && unit.getScalingOf().isPresent()) {
+            return unit.getScalingOf().get();
+        }
+        return unit;
+    }
+
+    /** Excludes scalings such as centi, deca and the binary prefixes (kibi etc.). */
+    private static boolean isPowerOfThousand(BigDecimal multiplier) {
+        BigDecimal stripped = multiplier.stripTrailingZeros();
+        return stripped.unscaledValue().equals(BigInteger.ONE) && stripped.scale() % 3 == 0;
+    }
+
+    Unit getBaseUnit() {
+        return baseUnit;
+    }
+
+    /**
+     * Returns a new family that also contains the specified unit, replacing the unit with the same
+     * IRI if there is one.
+     */
+    ScalingFamily with(Unit scaledUnit) {
+        List<Unit> newScaledUnits = new ArrayList<>(scaledUnits);
+        int index = newScaledUnits.indexOf(scaledUnit);
+        if (index >= 0) {
+            newScaledUnits.set(index, scaledUnit);
+        } else {
+            newScaledUnits.add(scaledUnit);
+        }
+        return new ScalingFamily(baseUnit, newScaledUnits);
+    }
+
+    /** Returns a new family without the specified scaled unit. */
+    ScalingFamily without(Unit scaledUnit) {
+        List<Unit> newScaledUnits = new ArrayList<>(scaledUnits);
+        newScaledUnits.remove(scaledUnit);
+        return new ScalingFamily(baseUnit, newScaledUnits);
+    }
+
+    /** Returns a new family of the same scaled units with the specified base unit. */
+    ScalingFamily withBaseUnit(Unit newBaseUnit) {
+        return new ScalingFamily(newBaseUnit, scaledUnits);
+    }
+
+    /**
+     * Returns the multiplier that converts from the specified member of the family (or any other
+     * prefixed scaling of the base unit) to the base unit, or empty if it cannot be converted just
+     * by multiplication. The ratio is rounded to 16 digits, so that conversion multipliers that are
+     * rounded themselves still yield exact powers of 1000.
+     */
+    Optional<BigDecimal> multiplierOf(Unit unit) {
+        if (unit.equals(baseUnit)) {
+            return Optional.of(BigDecimal.ONE);
+        }
+        if (unit.hasNonzeroConversionOffset() || baseUnit.hasNonzeroConversionOffset()) {
+            return Optional.empty();
+        }
+        Optional<BigDecimal> baseMultiplier =
+                baseUnit.getConversionMultiplier().filter(m -> m.signum() != 0);
+        return unit.getConversionMultiplier()
+                .flatMap(
+                        m ->
+                                baseMultiplier.map(
+                                        b ->
+                                                m.divide(b, MathContext.DECIMAL128)
+                                                        .round(MathContext.DECIMAL64)));
+    }
+
+    /**
+     * Returns the allowed unit with the largest multiplier that does not exceed the specified
+     * magnitude, or the allowed unit with the smallest multiplier if there is no such unit.
+     *
+     * @param magnitude the absolute value, expressed in the base unit
+     * @param allowed decides which units may be returned
+     * @return the best unit, or empty if no unit is allowed
+     */
+    Optional<Unit> bestUnit(BigDecimal magnitude, Predicate<Unit> allowed) {
+        int index = Arrays.binarySearch(multipliers, magnitude, BigDecimal::compareTo);
+        if (index < 0) {
+            index = -index - 2; // the last multiplier that is smaller than the magnitude
+        }
+        for (int i = index; i >= 0; i--) {
+            if (allowed.test(units[i])) {
+                return Optional.of(units[i]);
+            }
+        }
+        for (int i = index + 1; i < units.length; i++) {
+            if (allowed.test(units[i])) {
+                return Optional.of(units[i]);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.exception.IncompleteDataException;
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import io.github.qudtlib.model.DimensionVector;
+import io.github.qudtlib.model.FactorUnits;
+import io.github.qudtlib.model.Unit;
+
+/**
+ * What Qudt's comparison indexes hold for one unit: its dimension vector, normalized factor units,
+ * ranking features and magnitude. Computing these is the expensive part of building the indexes and
+ * does not depend on other units, so it can be done for many units in parallel.
+ */
+final class UnitComparisonData {
+    private final Unit unit;
+    private final boolean incompleteData;
+    private final DimensionVector dimensionVector;
+    private final boolean inconvertible;
+    private final FactorUnits normalized;
+    private final UnitRankingFeatures rankingFeatures;
+    private final UnitMagnitude magnitude;
+
+    private UnitComparisonData(Unit unit) {
+        this.unit = unit;
+        DimensionVector dimensionVector = null;
+        boolean incompleteData = false;
+        boolean inconvertible = false;
+        FactorUnits normalized = null;
+        UnitRankingFeatures rankingFeatures = null;
+        UnitMagnitude magnitude = null;
+        try {
+            dimensionVector = unit.getDimensionVector().orElse(null);
+            if (dimensionVector != null) {
+                try {
+                    normalized = unit.normalize();
+                } catch (InconvertibleQuantitiesException e) {
+                    inconvertible = true;
+                } catch (RuntimeException e) {
+                    // normalized stays null
+                }
+                try {
+                    rankingFeatures = UnitRankingFeatures.of(unit);
+                } catch (RuntimeException e) {
+                    // computed (and failing) again when the unit is ranked
+                }
+                try {
+                    magnitude = UnitMagnitude.of(unit);
+                } catch (ArithmeticException e) {
+                    // computed (and failing) again when the unit is ranked
+                }
+            }
+        } catch (IncompleteDataException e) {
+            incompleteData = true;
+        }
+        this.incompleteData = incompleteData;
+        this.dimensionVector = dimensionVector;
+        this.inconvertible = inconvertible;
+        this.normalized = normalized;
+        this.rankingFeatures = rankingFeatures;
+        this.magnitude = magnitude;
+    }
+
+    static UnitComparisonData of(Unit unit) {
+        return new UnitComparisonData(unit);
+    }
+
+    Unit getUnit() {
+        return unit;
+    }
+
+    /** Returns true if the dimension vector could not be calculated for lack of data. */
+    boolean isIncompleteData() {
+        return incompleteData;
+    }
+
+    /** Returns the dimension vector, or null if the unit has none. */
+    DimensionVector getDimensionVector() {
+        return dimensionVector;
+    }
+
+    /** Returns true if the unit's factor units are inconvertible, so it never matches any. */
+    boolean isInconvertible() {
+        return inconvertible;
+    }
+
+    /** Returns the normalized factor units, or null if they could not be calculated. */
+    FactorUnits getNormalized() {
+        return normalized;
+    }
+
+    /** Returns the ranking features, or null if they could not be calculated. */
+    UnitRankingFeatures getRankingFeatures() {
+        return rankingFeatures;
+    }
+
+    /** Returns the magnitude, or null if it could not be calculated. */
+    UnitMagnitude getMagnitude() {
+        return magnitude;
+    }
+}
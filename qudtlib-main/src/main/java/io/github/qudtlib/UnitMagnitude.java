@@ -0,0 +1,45 @@
+package io.github.qudtlib;
+
+import com.java2s.Log10BigDecimal;
+import io.github.qudtlib.model.Unit;
+import java.math.BigDecimal;
+
+/**
+ * The decimal logarithms of a unit's conversion multiplier and conversion offset, computed once per
+ * unit for ranking units by how close they are in magnitude to another unit.
+ */
+final class UnitMagnitude {
+    private final Unit unit;
+    private final double log10Multiplier;
+    private final double log10Offset;
+
+    private UnitMagnitude(Unit unit) {
+        this.unit = unit;
+        this.log10Multiplier =
+                Log10BigDecimal.log10(unit.getConversionMultiplier().orElse(BigDecimal.ONE))
+                        .doubleValue();
+        BigDecimal offset = unit.getConversionOffset().orElse(BigDecimal.ZERO).abs();
+        this.log10Offset =
+                offset.compareTo(BigDecimal.ZERO) > 0
+                        ? Log10BigDecimal.log10(offset).doubleValue()
+                        : 0;
+    }
+
+    static UnitMagnitude of(Unit unit) {
+        return new UnitMagnitude(unit);
+    }
+
+    Unit getUnit() {
+        return unit;
+    }
+
+    /** Returns the decimal logarithm of the conversion multiplier (0 if there is none). */
+    double getLog10Multiplier() {
+        return log10Multiplier;
+    }
+
+    /** Returns the decimal logarithm of the absolute conversion offset (0 if it is 0 or absent). */
+    double getLog10Offset() {
+        return log10Offset;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.model.FactorUnit;
+import io.github.qudtlib.model.FactorUnits;
+import io.github.qudtlib.model.Unit;
+import java.util.List;
+
+/**
+ * The properties of a unit used by {@link BestMatchRanking} that do not depend on the requested
+ * factor units, computed once per unit.
+ */
+final class UnitRankingFeatures {
+    private final Unit unit;
+    private final String localname;
+    private final boolean deprecated;
+    private final boolean generated;
+    private final boolean definedAsOtherUnit;
+    private final int factorUnitCount;
+    private final Unit firstFactorUnit;
+    private final int firstFactorExponent;
+    private final boolean localnameWithHyphen;
+    private final int expandedNumeratorSize;
+    private final int expandedDenominatorSize;
+    private final int expandedSize;
+    private final int dependents;
+    private final int underscoreCount;
+
+    private UnitRankingFeatures(Unit unit) {
+        this.unit = unit;
+        this.localname = unit.getIriLocalname();
+        this.deprecated = unit.isDeprecated();
+        this.generated = unit.isGenerated();
+        this.definedAsOtherUnit = unit.isDefinedAsOtherUnit();
+        FactorUnits factorUnits = unit.getFactorUnits();
+        List<FactorUnit> factors = factorUnits.getFactorUnits();
+        this.factorUnitCount = factors.size();
+        this.firstFactorUnit = factors.isEmpty() ? null : factors.get(0).getUnit();
+        this.firstFactorExponent = factors.isEmpty() ? 0 : factors.get(0).getExponent();
+        this.localnameWithHyphen = localname.indexOf('-') >= 0;
+        this.expandedNumeratorSize = factorUnits.numerator().expand().size();
+        this.expandedDenominatorSize = factorUnits.denominator().expand().size();
+        this.expandedSize = factorUnits.expand().size();
+        this.dependents = unit.getDependents();
+        this.underscoreCount = countUnderscores(localname);
+    }
+
+    static UnitRankingFeatures of(Unit unit) {
+        return new UnitRankingFeatures(unit);
+    }
+
+    private static int countUnderscores(String localname) {
+        int count = 0;
+        for (int i = 0; i < localname.length(); i++) {
+            if (localname.charAt(i) == '_') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    Unit getUnit() {
+        return unit;
+    }
+
+    String getLocalname() {
+        return localname;
+    }
+
+    boolean isDeprecated() {
+        return deprecated;
+    }
+
+    boolean isGenerated() {
+        return generated;
+    }
+
+    boolean isDefinedAsOtherUnit() {
+        return definedAsOtherUnit;
+    }
+
+    int getFactorUnitCount() {
+        return factorUnitCount;
+    }
+
+    Unit getFirstFactorUnit() {
+        return firstFactorUnit;
+    }
+
+    int getFirstFactorExponent() {
+        return firstFactorExponent;
+    }
+
+    boolean isLocalnameWithHyphen() {
+        return localnameWithHyphen;
+    }
+
+    int getExpandedNumeratorSize() {
+        return expandedNumeratorSize;
+    }
+
+    int getExpandedDenominatorSize() {
+        return expandedDenominatorSize;
+    }
+
+    int getExpandedSize() {
+        return expandedSize;
+    }
+
+    int getDependents() {
+        return dependents;
+    }
+
+    int getUnderscoreCount() {
+        return underscoreCount;
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.model.SystemOfUnits;
+import io.github.qudtlib.model.Unit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The units allowed in each system of units (as decided by {@link SystemOfUnits#allowsUnit(Unit)}),
+ * computed once and kept as one bit set per system. The bits are indexes into a list of all units,
+ * which is sorted by IRI initially (so that the index of a unit of the model is its id); units
+ * added later are appended.
+ *
+ * <p>Units and systems that are not known to the membership are checked with {@link
+ * SystemOfUnits#allowsUnit(Unit)}.
+ *
+ * <p>Instances are not modified once constructed, so they can be read by many threads; {@link
+ * #with(Collection)} returns a modified copy.
+ */
+final class UnitSystemMembership {
+    private final List<Unit> units;
+    private final Map<Unit, Integer> unitIndexes;
+    private final Map<SystemOfUnits, BitSet> membersBySystem;
+
+    UnitSystemMembership(Collection<SystemOfUnits> systems, Collection<Unit> units) {
+        this.units = new ArrayList<>(units.size());
+        this.unitIndexes = new HashMap<>();
+        this.membersBySystem = new HashMap<>();
+        List<SystemOfUnits> systemList = List.copyOf(systems);
+        List<BitSet> members = new ArrayList<>(systemList.size());
+        for (SystemOfUnits system : systemList) {
+            BitSet bitSet = new BitSet(units.size());
+            members.add(bitSet);
+            membersBySystem.put(system, bitSet);
+        }
+        units.stream()
+                .sorted(Comparator.comparing(Unit::getIri))
+                .forEach(
+                        unit -> {
+                            unitIndexes.put(unit, this.units.size());
+                            this.units.add(unit);
+                        });
+        // checking a unit against all systems is independent of the other units
+        List<BitSet> systemsByUnit =
+                ParallelIndexing.map(this.units, unit -> systemsAllowing(systemList, unit));
+        for (int index = 0; index < systemsByUnit.size(); index++) {
+            BitSet allowing = systemsByUnit.get(index);
+            for (int s = allowing.nextSetBit(0); s >= 0; s = allowing.nextSetBit(s + 1)) {
+                members.get(s).set(index);
+            }
+        }
+    }
+
+    private static BitSet systemsAllowing(List<SystemOfUnits> systems, Unit unit) {
+        BitSet allowing = new BitSet(systems.size());
+        for (int s = 0; s < systems.size(); s++) {
+            allowing.set(s, systems.get(s).allowsUnit(unit));
+        }
+        return allowing;
+    }
+
+    private UnitSystemMembership(
+            List<Unit> units,
+            Map<Unit, Integer> unitIndexes,
+            Map<SystemOfUnits, BitSet> membersBySystem) {
+        this.units = units;
+        this.unitIndexes = unitIndexes;
+        this.membersBySystem = membersBySystem;
+    }
+
+    /**
+     * Returns a copy of this membership with the units added, or with the units with the same IRIs
+     * replaced and their membership updated.
+     */
+    UnitSystemMembership with(Collection<Unit> addedUnits) {
+        List<Unit> newUnits = new ArrayList<>(units);
+        Map<Unit, Integer> newUnitIndexes = new HashMap<>(unitIndexes);
+        Map<SystemOfUnits, BitSet> newMembersBySystem = new HashMap<>();
+        membersBySystem.forEach(
+                (system, members) -> newMembersBySystem.put(system, (BitSet) members.clone()));
+        for (Unit unit : addedUnits) {
+            Integer index = newUnitIndexes.get(unit);
+            if (index == null) {
+                index = newUnits.size();
+                newUnits.add(unit);
+                newUnitIndexes.put(unit, index);
+            } else {
+                newUnits.set(index, unit);
+            }
+            for (Map.Entry<SystemOfUnits, BitSet> entry : newMembersBySystem.entrySet()) {
+                entry.getValue().set(index, entry.getKey().allowsUnit(unit));
+            }
+        }
+        return new UnitSystemMembership(newUnits, newUnitIndexes, newMembersBySystem);
+    }
+
+    boolean allowsUnit(SystemOfUnits system, Unit unit) {
+        BitSet members = membersBySystem.get(system);
+        int index = indexOf(unit);
+        if (members == null || index < 0) {
+            return system.allowsUnit(unit);
+        }
+        return members.get(index);
+    }
+
+    /**
+     * Returns the index of the unit, or -1 if it is not known. For the units of the model, the
+     * index is the unit's id.
+     */
+    private int indexOf(Unit unit) {
+        int id = unit.getId();
+        if (id >= 0 && id < units.size() && units.get(id) == unit) {
+            return id;
+        }
+        Integer index = unitIndexes.get(unit);
+        if (index == null || units.get(index) != unit) {
+            return -1;
+        }
+        return index;
+    }
+
+    /** Returns the known units allowed in the specified system, ordered by their index. */
+    Stream<Unit> unitsOf(SystemOfUnits system) {
+        BitSet members = membersBySystem.get(system);
+        if (members == null) {
+            return units.stream().filter(system::allowsUnit);
+        }
+        return members.stream().mapToObj(units::get);
+    }
+}
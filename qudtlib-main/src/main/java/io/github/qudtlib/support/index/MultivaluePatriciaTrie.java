@@ -17,6 +17,8 @@ public class MultivaluePatriciaTrie<V> {
                     if (values == null) {
                         values = new HashSet<>();
                     }
+                    // replace an equal value, so that the value put last is found
+                    values.remove(value);
                     values.add(value);
                     return values;
                 });
@@ -28,6 +30,11 @@ public class MultivaluePatriciaTrie<V> {
                 .collect(Collectors.toSet());
     }
 
+    /** Returns the values by key for the keys starting with the prefix, without copying them. */
+    public Map<String, Set<V>> getEntriesByPrefixMatch(String prefix) {
+        return Collections.unmodifiableMap(delegate.prefixMap(prefix));
+    }
+
     public Set<V> get(String k) {
         Set<V> set = delegate.get(k);
         if (set == null) {
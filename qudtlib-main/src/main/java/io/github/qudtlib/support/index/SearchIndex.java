@@ -1,21 +1,43 @@
 package io.github.qudtlib.support.index;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 public class SearchIndex<V> {
 
     private MultivaluePatriciaTrie<V> trie = new MultivaluePatriciaTrie();
+    /*
+     * The keys changed with update() while the index may be read concurrently, with all of their
+     * values, which take the place of the values of the key in the trie. The trie is never modified
+     * once published, and the sets are replaced by modified copies, so that each addition copies
+     * only the values of the keys it changes.
+     */
+    private final ConcurrentNavigableMap<String, Set<V>> changedKeys =
+            new ConcurrentSkipListMap<>();
     private final boolean caseInsensitive;
 
     public void clear() {
         trie.clear();
+        changedKeys.clear();
     }
 
     public SearchIndex(boolean caseInsensitive) {
         this.caseInsensitive = caseInsensitive;
     }
 
+    /**
+     * Adds the entry. Not thread-safe: use this method to fill the index before it is shared with
+     * other threads, and {@link #update(Map, Map)} afterwards.
+     */
     public void put(String key, V value) {
         trie.put(key, value);
         if (this.caseInsensitive) {
@@ -23,14 +45,77 @@ public class SearchIndex<V> {
         }
     }
 
+    /**
+     * Removes and adds values while other threads may be reading the index, without blocking them.
+     * Readers see each key either before or after the update, and an added value replaces an equal
+     * value of the key. The values of each key are copied once per call, so many values should be
+     * updated in one call.
+     *
+     * @param removedByKey the values to remove, by key
+     * @param addedByKey the values to add, by key
+     */
+    public synchronized void update(
+            Map<String, ? extends Collection<? extends V>> removedByKey,
+            Map<String, ? extends Collection<? extends V>> addedByKey) {
+        Map<String, List<V>> removed = withUpperCaseKeys(removedByKey);
+        Map<String, List<V>> added = withUpperCaseKeys(addedByKey);
+        Set<String> keys = new HashSet<>(removed.keySet());
+        keys.addAll(added.keySet());
+        for (String key : keys) {
+            Set<V> values = new HashSet<>(changedKeys.getOrDefault(key, trie.get(key)));
+            values.removeAll(removed.getOrDefault(key, List.of()));
+            for (V value : added.getOrDefault(key, List.of())) {
+                values.remove(value);
+                values.add(value);
+            }
+            changedKeys.put(key, Collections.unmodifiableSet(values));
+        }
+    }
+
+    /* Returns the values by key, and by upper-cased key too if the index is case-insensitive. */
+    private Map<String, List<V>> withUpperCaseKeys(
+            Map<String, ? extends Collection<? extends V>> valuesByKey) {
+        Map<String, List<V>> result = new HashMap<>();
+        valuesByKey.forEach(
+                (key, values) -> {
+                    result.computeIfAbsent(key, k -> new ArrayList<>()).addAll(values);
+                    if (this.caseInsensitive) {
+                        String upperCaseKey = key.toUpperCase(Locale.ROOT);
+                        result.computeIfAbsent(upperCaseKey, k -> new ArrayList<>()).addAll(values);
+                    }
+                });
+        return result;
+    }
+
     public Set<V> get(String prefix, int flags) {
         String search = prefix;
         if (Flag.isCaseInsensitive(flags)) {
             search = search.toUpperCase(Locale.ROOT);
         }
-        if (Flag.isMatchPrefix(flags)) {
+        if (!Flag.isMatchPrefix(flags)) {
+            Set<V> changed = changedKeys.get(search);
+            return changed != null ? changed : trie.get(search);
+        }
+        if (changedKeys.isEmpty()) {
             return trie.getByPrefixMatch(search);
         }
-        return trie.get(search);
+        Set<V> result = new HashSet<>();
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Set<V>> entry : changedKeys.tailMap(search).entrySet()) {
+            if (!entry.getKey().startsWith(search)) {
+                break;
+            }
+            changed.add(entry.getKey());
+            result.addAll(entry.getValue());
+        }
+        // keys changed after they were looked up above are taken from the trie, as they were
+        trie.getEntriesByPrefixMatch(search)
+                .forEach(
+                        (key, values) -> {
+                            if (!changed.contains(key)) {
+                                result.addAll(values);
+                            }
+                        });
+        return result;
     }
 }
@@ -4,8 +4,6 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 class State {
-    private static int idCounter = 1;
-    private final int id = State.idCounter++;
     private final String remainingInput;
     private final String leftoverInput;
     private final List<ParsedUnit> parsedUnits;
@@ -154,9 +152,7 @@ class State {
     @Override
     public String toString() {
         return "State{"
-                + "id="
-                + id
-                + ", leftover='"
+                + "leftover='"
                 + leftoverInput
                 + '\''
                 + ", remaining='"
@@ -0,0 +1,62 @@
+package io.github.qudtlib.support.parse;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The states of one parse that are waiting to be explored, best first. States that rank equally
+ * are explored in the order they were added, so the search, and thus its result, does not depend
+ * on object identities or hash codes, or on other parses running concurrently. Not thread-safe.
+ */
+final class StateQueue {
+    private static final Comparator<QueuedState> STATE_ORDER =
+            Comparator.comparing((QueuedState q) -> q.state.badness())
+                    .thenComparing(q -> -q.state.getParsedUnits().size())
+                    .thenComparing(
+                            q ->
+                                    -(q.state.getRemainingInput().length()
+                                            + Optional.ofNullable(q.state.getLeftoverInput())
+                                                    .map(String::length)
+                                                    .orElse(0)))
+                    .thenComparingLong(q -> q.sequence);
+
+    private final SortedSet<QueuedState> states = new TreeSet<>(STATE_ORDER);
+    private long sequence = 0;
+
+    void add(State state) {
+        states.add(new QueuedState(state, sequence++));
+    }
+
+    /** Removes and returns the best state, or returns null if the queue is empty. */
+    State poll() {
+        Iterator<QueuedState> it = states.iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        State state = it.next().state;
+        it.remove();
+        return state;
+    }
+
+    boolean isEmpty() {
+        return states.isEmpty();
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    /* A state waiting to be explored, numbered in the order in which it was added. */
+    private static final class QueuedState {
+        private final State state;
+        private final long sequence;
+
+        QueuedState(State state, long sequence) {
+            this.state = state;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.qudtlib.support.parse;
+
+import io.github.qudtlib.model.CacheStatistics;
+import io.github.qudtlib.model.QuantityKind;
+import io.github.qudtlib.model.StripedLruCache;
+import io.github.qudtlib.model.Unit;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, thread-safe cache for the results of {@link UnitParser#parse()}, keyed by the input and
+ * the quantity kind the units are filtered by. Quantity kinds are compared by identity, like the
+ * units in {@link io.github.qudtlib.model.UnitPairCache}. Entries are held in a {@link
+ * StripedLruCache}.
+ *
+ * <p>The result of a parse depends on the units and quantity kinds of the model, which may be added
+ * at runtime. The key therefore also contains the model version (see the {@code modelVersion}
+ * supplier) the result was computed for, so that results for older versions are never found and
+ * eventually evicted. A result is only cached if the version did not change while the input was
+ * parsed, so that results computed from a model that was modified concurrently are never returned
+ * from the cache.
+ *
+ * <p>Parsing happens outside of the cache's locks; if two threads parse the same input
+ * concurrently, the first result stored wins. A maximum size of 0 disables caching. Cached results
+ * are unmodifiable.
+ */
+public final class UnitParseCache {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private final StripedLruCache<Key, Set<Unit>> cache;
+    private final LongSupplier modelVersion;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of cached results: 0 to disable caching, or at least 16
+     * @param modelVersion supplies a number that changes whenever the model is modified
+     */
+    public UnitParseCache(int maximumSize, LongSupplier modelVersion) {
+        this.cache = new StripedLruCache<>(maximumSize);
+        this.modelVersion = Objects.requireNonNull(modelVersion);
+    }
+
+    /**
+     * Returns the units the input is parsed to, from the cache if possible.
+     *
+     * @param input the string to parse
+     * @param quantityKind the quantity kind the units are required to be applicable to, may be null
+     * @return the unmodifiable set of units that match the input and quantity kind
+     * @see UnitParser#parse()
+     */
+    public Set<Unit> parse(String input, QuantityKind quantityKind) {
+        long version = modelVersion.getAsLong();
+        Key key = new Key(input, quantityKind, version);
+        Set<Unit> units = cache.getIfPresent(key);
+        if (units != null) {
+            return units;
+        }
+        units = Set.copyOf(new UnitParser(input, quantityKind).parse());
+        if (modelVersion.getAsLong() != version) {
+            return units;
+        }
+        return cache.putIfAbsent(key, units);
+    }
+
+    /** Removes all entries. The statistics are not reset. */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    private static final class Key {
+        private final String input;
+        private final QuantityKind quantityKind;
+        private final long modelVersion;
+        private final int hashCode;
+
+        Key(String input, QuantityKind quantityKind, long modelVersion) {
+            this.input = Objects.requireNonNull(input);
+            this.quantityKind = quantityKind;
+            this.modelVersion = modelVersion;
+            this.hashCode =
+                    31 * (31 * input.hashCode() + System.identityHashCode(quantityKind))
+                            + Long.hashCode(modelVersion);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return input.equals(key.input)
+                    && quantityKind == key.quantityKind
+                    && modelVersion == key.modelVersion;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
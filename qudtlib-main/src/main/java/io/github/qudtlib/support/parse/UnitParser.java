@@ -1,7 +1,5 @@
 package io.github.qudtlib.support.parse;
 
-import static java.util.function.Predicate.not;
-
 import io.github.qudtlib.Qudt;
 import io.github.qudtlib.exception.IncompleteDataException;
 import io.github.qudtlib.model.DerivedUnitSearchMode;
@@ -14,8 +12,8 @@ import java.util.stream.Stream;
 
 public class UnitParser {
 
-    String input;
-    QuantityKind quantityKind;
+    private final String input;
+    private final QuantityKind quantityKind;
 
     public UnitParser(String input) {
         this(input, null);
@@ -27,18 +25,7 @@ public class UnitParser {
     }
 
     public Set<Unit> parse() {
-        Set<State> oldStates = new HashSet<>();
-        SortedSet<State> states =
-                new TreeSet<>(
-                        Comparator.comparing(State::badness)
-                                .thenComparing(s -> -s.getParsedUnits().size())
-                                .thenComparing(
-                                        s ->
-                                                -(s.getRemainingInput().length()
-                                                        + Optional.ofNullable(s.getLeftoverInput())
-                                                                .map(String::length)
-                                                                .orElse(0)))
-                                .thenComparing(Object::hashCode));
+        StateQueue states = new StateQueue();
         State initialState =
                 new State(
                         this.input,
@@ -59,12 +46,15 @@ public class UnitParser {
                         System.out.println();
             */
 
-            Iterator<State> it = states.iterator();
-            State currentState = it.next();
-            it.remove();
+            State currentState = states.poll();
             List<State> next = currentState.nextTransition();
-            next.stream().filter(State::isParseComplete).forEach(finishedStates::add);
-            next.stream().filter(not(State::isParseComplete)).forEach(states::add);
+            for (State state : next) {
+                if (state.isParseComplete()) {
+                    finishedStates.add(state);
+                } else {
+                    states.add(state);
+                }
+            }
             if (!finishedStates.isEmpty()) {
                 Set<Unit> results = new HashSet<>();
                 for (State finishedState : finishedStates) {
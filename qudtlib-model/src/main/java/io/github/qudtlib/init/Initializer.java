@@ -10,6 +10,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.ObjIntConsumer;
 
 /**
  * Initializes the QUDTLib model.
@@ -29,6 +31,8 @@ public interface Initializer {
 
         private Map<String, PhysicalConstant.Definition> physicalConstantDefinitions;
 
+        private boolean idsAssigned = false;
+
         public Definitions() {
             this.prefixDefinitions = new HashMap<>();
             this.unitDefinitions = new HashMap<>();
@@ -39,18 +43,22 @@ public interface Initializer {
         }
 
         public void addUnitDefinition(Unit.Definition definition) {
+            checkIdsNotAssigned();
             this.unitDefinitions.put(definition.getId(), definition);
         }
 
         public void addQuantityKindDefinition(QuantityKind.Definition definition) {
+            checkIdsNotAssigned();
             this.quantityKindDefinitions.put(definition.getId(), definition);
         }
 
         public void addPrefixDefinition(Prefix.Definition definition) {
+            checkIdsNotAssigned();
             this.prefixDefinitions.put(definition.getId(), definition);
         }
 
         public void addSystemOfUnitsDefinition(SystemOfUnits.Definition definition) {
+            checkIdsNotAssigned();
             this.systemOfUnitsDefinitions.put(definition.getId(), definition);
         }
 
@@ -131,6 +139,39 @@ public interface Initializer {
                                     String.format("No ConstantValue found with iri %s", iri)));
         }
 
+        /**
+         * Assigns dense ids (0, 1, 2, ...) to the unit, quantity kind, prefix and system of units
+         * definitions, numbering each kind separately in the order of the IRIs. The ids must be
+         * assigned before any definition is built, because building one definition builds the ones
+         * it refers to; the default {@code build*} methods of {@link Initializer} therefore call
+         * this method first. Calling it again has no effect. Once the ids are assigned, no unit,
+         * quantity kind, prefix or system of units definitions can be added.
+         */
+        public void assignIds() {
+            if (idsAssigned) {
+                return;
+            }
+            idsAssigned = true;
+            assignIds(unitDefinitions, Unit.Definition::id);
+            assignIds(quantityKindDefinitions, QuantityKind.Definition::id);
+            assignIds(prefixDefinitions, Prefix.Definition::id);
+            assignIds(systemOfUnitsDefinitions, SystemOfUnits.Definition::id);
+        }
+
+        private void checkIdsNotAssigned() {
+            if (idsAssigned) {
+                throw new IllegalStateException(
+                        "Cannot add definitions after entities have been built from them");
+            }
+        }
+
+        private static <D> void assignIds(Map<String, D> definitions, ObjIntConsumer<D> setId) {
+            int id = 0;
+            for (String iri : new TreeSet<>(definitions.keySet())) {
+                setId.accept(definitions.get(iri), id++);
+            }
+        }
+
         public boolean hasUnitDefinitions() {
             return !this.unitDefinitions.isEmpty();
         }
@@ -163,33 +204,39 @@ public interface Initializer {
     Definitions loadData();
 
     default Map<String, Unit> buildUnits(Definitions definitions) {
+        definitions.assignIds();
         return definitions.unitDefinitions.entrySet().stream()
                 .collect(toMap(e -> e.getKey(), e -> e.getValue().build()));
     }
 
     default Map<String, QuantityKind> buildQuantityKinds(Definitions definitions) {
+        definitions.assignIds();
         return definitions.quantityKindDefinitions.entrySet().stream()
                 .collect(toMap(e -> e.getKey(), e -> e.getValue().build()));
     }
 
     default Map<String, Prefix> buildPrefixes(Definitions definitions) {
+        definitions.assignIds();
         return Collections.unmodifiableMap(
                 definitions.prefixDefinitions.entrySet().stream()
                         .collect(toMap(e -> e.getKey(), e -> e.getValue().build())));
     }
 
     default Map<String, SystemOfUnits> buildSystemsOfUnits(Definitions definitions) {
+        definitions.assignIds();
         return Collections.unmodifiableMap(
                 definitions.systemOfUnitsDefinitions.entrySet().stream()
                         .collect(toMap(e -> e.getKey(), e -> e.getValue().build())));
     }
 
     default Map<String, PhysicalConstant> buildPhysicalConstants(Definitions definitions) {
+        definitions.assignIds();
         return definitions.physicalConstantDefinitions.entrySet().stream()
                 .collect(toMap(e -> e.getKey(), e -> e.getValue().build()));
     }
 
     default Map<String, ConstantValue> buildConstantValues(Definitions definitions) {
+        definitions.assignIds();
         return definitions.constantValueDefinitions.entrySet().stream()
                 .collect(toMap(e -> e.getKey(), e -> e.getValue().build()));
     }
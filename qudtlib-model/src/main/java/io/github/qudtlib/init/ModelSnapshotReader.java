@@ -0,0 +1,239 @@
+package io.github.qudtlib.init;
+
+import static io.github.qudtlib.init.ModelSnapshotWriter.*;
+
+import io.github.qudtlib.model.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads a snapshot written by {@link ModelSnapshotWriter} into {@link Initializer.Definitions}.
+ *
+ * <p>The snapshot is read from a {@link ByteBuffer}; {@link #read(Path)} maps the file into memory
+ * instead of copying it to the heap first.
+ */
+public class ModelSnapshotReader {
+    private final ByteBuffer buffer;
+    private final Initializer.Definitions definitions = new Initializer.Definitions();
+    private String[] strings;
+
+    private ModelSnapshotReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Reads the snapshot from the specified buffer, starting at its current position.
+     *
+     * @param buffer the buffer holding the snapshot
+     * @return the definitions of the model
+     * @throws IllegalArgumentException if the buffer does not hold a snapshot of the supported
+     *     version
+     */
+    public static Initializer.Definitions read(ByteBuffer buffer) {
+        return new ModelSnapshotReader(buffer.duplicate()).readDefinitions();
+    }
+
+    /**
+     * Reads the snapshot from the specified file, which is memory-mapped for reading.
+     *
+     * @param path the snapshot file
+     * @return the definitions of the model
+     * @throws IOException if the file cannot be read
+     */
+    public static Initializer.Definitions read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads the snapshot from the specified stream, which is read to its end but not closed.
+     *
+     * @param inputStream the stream to read from
+     * @return the definitions of the model
+     * @throws IOException if the stream cannot be read
+     */
+    public static Initializer.Definitions read(InputStream inputStream) throws IOException {
+        return read(ByteBuffer.wrap(inputStream.readAllBytes()));
+    }
+
+    private Initializer.Definitions readDefinitions() {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a QUDTLib model snapshot");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Unsupported model snapshot version %d, expected %d",
+                            version, VERSION));
+        }
+        readStringPool();
+        readSection(this::readPrefix);
+        readSection(this::readSystemOfUnits);
+        readSection(this::readQuantityKind);
+        readSection(this::readUnit);
+        readSection(this::readConstantValue);
+        readSection(this::readPhysicalConstant);
+        return definitions;
+    }
+
+    private void readStringPool() {
+        strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void readSection(Runnable recordReader) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            recordReader.run();
+        }
+    }
+
+    private void readPrefix() {
+        Prefix.Definition definition =
+                Prefix.definition(readString())
+                        .multiplier(readDecimal())
+                        .symbol(readString())
+                        .ucumCode(readString());
+        readLabels(definition::addLabel);
+        definitions.addPrefixDefinition(definition);
+    }
+
+    private void readSystemOfUnits() {
+        SystemOfUnits.Definition definition =
+                SystemOfUnits.definition(readString()).abbreviation(readString());
+        readLabels(definition::addLabel);
+        readIris(iri -> definition.addBaseUnit(definitions.expectUnitDefinition(iri)));
+        definitions.addSystemOfUnitsDefinition(definition);
+    }
+
+    private void readQuantityKind() {
+        QuantityKind.Definition definition = QuantityKind.definition(readString());
+        definition.deprecated((buffer.get() & FLAG_DEPRECATED) != 0);
+        definition.dimensionVectorIri(readString());
+        definition.qkdvNumeratorIri(readString());
+        definition.qkdvDenominatorIri(readString());
+        definition.symbol(readString());
+        definition.description(readString());
+        readLabels(definition::addLabel);
+        readIris(
+                iri -> definition.addApplicableUnit(definitions.expectUnitDefinition(iri)));
+        readIris(
+                iri ->
+                        definition.addBroaderQuantityKind(
+                                definitions.expectQuantityKindDefinition(iri)));
+        readIris(
+                iri -> definition.addExactMatch(definitions.expectQuantityKindDefinition(iri)));
+        definitions.addQuantityKindDefinition(definition);
+    }
+
+    private void readUnit() {
+        Unit.Definition definition = Unit.definition(readString());
+        byte flags = buffer.get();
+        definition.deprecated((flags & FLAG_DEPRECATED) != 0);
+        definition.generated((flags & FLAG_GENERATED) != 0);
+        definition.dependents(buffer.getInt());
+        String prefixIri = readString();
+        if (prefixIri != null) {
+            definition.prefix(definitions.expectPrefixDefinition(prefixIri));
+        }
+        String scalingOfIri = readString();
+        if (scalingOfIri != null) {
+            definition.scalingOf(definitions.expectUnitDefinition(scalingOfIri));
+        }
+        definition.dimensionVectorIri(readString());
+        definition.conversionMultiplier(readDecimal());
+        definition.conversionOffset(readDecimal());
+        definition.symbol(readString());
+        readStrings(definition::altSymbol);
+        definition.description(readString());
+        definition.ucumCode(readString());
+        definition.currencyCode(readString());
+        int currencyNumber = buffer.getInt();
+        if (currencyNumber != NO_CURRENCY_NUMBER) {
+            definition.currencyNumber(currencyNumber);
+        }
+        readLabels(definition::addLabel);
+        readIris(iri -> definition.addQuantityKind(definitions.expectQuantityKindDefinition(iri)));
+        readIris(
+                iri ->
+                        definition.addSystemOfUnits(
+                                definitions.expectSystemOfUnitsDefinition(iri)));
+        readIris(iri -> definition.addExactMatch(definitions.expectUnitDefinition(iri)));
+        int factorUnitCount = buffer.getInt();
+        if (factorUnitCount != NO_FACTOR_UNITS) {
+            FactorUnits.Builder factorUnits = FactorUnits.builder();
+            factorUnits.scaleFactor(readDecimal());
+            for (int i = 0; i < factorUnitCount; i++) {
+                factorUnits.factor(
+                        FactorUnit.builder()
+                                .unit(definitions.expectUnitDefinition(readString()))
+                                .exponent(buffer.getInt()));
+            }
+            definition.setFactorUnits(factorUnits);
+        }
+        definitions.addUnitDefinition(definition);
+    }
+
+    private void readConstantValue() {
+        ConstantValue.Definition definition = ConstantValue.definition(readString());
+        definition.deprecated((buffer.get() & FLAG_DEPRECATED) != 0);
+        readLabels(definition::addLabel);
+        definition.value(readDecimal());
+        definition.standardUncertainty(readDecimal());
+        definition.unit(definitions.expectUnitDefinition(readString()));
+        definitions.addConstantValueDefinition(definition);
+    }
+
+    private void readPhysicalConstant() {
+        PhysicalConstant.Definition definition = PhysicalConstant.definition(readString());
+        definition.deprecated((buffer.get() & FLAG_DEPRECATED) != 0);
+        readLabels(definition::addLabel);
+        definition.description(readString());
+        definition.constantValue(definitions.expectConstantValueDefinition(readString()));
+        definition.quantityKind(definitions.expectQuantityKindDefinition(readString()));
+        definitions.addPhysicalConstantDefinition(definition);
+    }
+
+    private void readLabels(Consumer<LangString> addLabel) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            String label = readString();
+            String languageTag = readString();
+            addLabel.accept(new LangString(label, languageTag));
+        }
+    }
+
+    private void readIris(Consumer<String> addIri) {
+        readStrings(addIri);
+    }
+
+    private void readStrings(Consumer<String> addString) {
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            addString.accept(readString());
+        }
+    }
+
+    private BigDecimal readDecimal() {
+        String value = readString();
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private String readString() {
+        int index = buffer.getInt();
+        return index == NULL ? null : strings[index];
+    }
+}
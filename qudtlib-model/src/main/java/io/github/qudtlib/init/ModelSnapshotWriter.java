@@ -0,0 +1,247 @@
+package io.github.qudtlib.init;
+
+import io.github.qudtlib.model.*;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the model (prefixes, systems of units, quantity kinds, units, constant values and physical
+ * constants) in the binary snapshot format read by {@link ModelSnapshotReader}.
+ *
+ * <p>The snapshot starts with the magic number {@link #MAGIC} and the format {@link #VERSION},
+ * followed by a pool of all strings (each encoded as its UTF-8 byte count followed by the bytes)
+ * and one section per kind of entity, in the order listed above. Each section is the number of
+ * entities followed by their records, sorted by IRI. Within the records, strings (including IRIs of
+ * other entities and decimal numbers) are indexes into the string pool, or -1 for absent values.
+ * All numbers are big-endian.
+ */
+public class ModelSnapshotWriter {
+    /** The first four bytes of every snapshot: 'QUDT' in ASCII. */
+    public static final int MAGIC = 0x51554454;
+
+    public static final int VERSION = 1;
+
+    static final int NULL = -1;
+    static final int NO_CURRENCY_NUMBER = Integer.MIN_VALUE;
+    static final int NO_FACTOR_UNITS = -1;
+    static final int FLAG_DEPRECATED = 1;
+    static final int FLAG_GENERATED = 2;
+
+    private final Collection<Prefix> prefixes;
+    private final Collection<SystemOfUnits> systemsOfUnits;
+    private final Collection<QuantityKind> quantityKinds;
+    private final Collection<Unit> units;
+    private final Collection<ConstantValue> constantValues;
+    private final Collection<PhysicalConstant> physicalConstants;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    public ModelSnapshotWriter(
+            Collection<Prefix> prefixes,
+            Collection<SystemOfUnits> systemsOfUnits,
+            Collection<QuantityKind> quantityKinds,
+            Collection<Unit> units,
+            Collection<ConstantValue> constantValues,
+            Collection<PhysicalConstant> physicalConstants) {
+        this.prefixes = prefixes;
+        this.systemsOfUnits = systemsOfUnits;
+        this.quantityKinds = quantityKinds;
+        this.units = units;
+        this.constantValues = constantValues;
+        this.physicalConstants = physicalConstants;
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        stringIndexes.clear();
+        strings.clear();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        writeSection(out, prefixes, Prefix::getIri, this::writePrefix);
+        writeSection(out, systemsOfUnits, SystemOfUnits::getIri, this::writeSystemOfUnits);
+        writeSection(out, quantityKinds, QuantityKind::getIri, this::writeQuantityKind);
+        writeSection(out, units, Unit::getIri, this::writeUnit);
+        writeSection(out, constantValues, ConstantValue::getIri, this::writeConstantValue);
+        writeSection(out, physicalConstants, PhysicalConstant::getIri, this::writePhysicalConstant);
+        out.flush();
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            header.writeInt(bytes.length);
+            header.write(bytes);
+        }
+        body.writeTo(header);
+        header.flush();
+    }
+
+    private interface RecordWriter<T> {
+        void write(DataOutputStream out, T entity) throws IOException;
+    }
+
+    private <T> void writeSection(
+            DataOutputStream out,
+            Collection<T> entities,
+            Function<T, String> getIri,
+            RecordWriter<T> recordWriter)
+            throws IOException {
+        List<T> sorted =
+                entities.stream()
+                        .sorted(Comparator.comparing(getIri))
+                        .collect(Collectors.toList());
+        out.writeInt(sorted.size());
+        for (T entity : sorted) {
+            recordWriter.write(out, entity);
+        }
+    }
+
+    private void writePrefix(DataOutputStream out, Prefix prefix) throws IOException {
+        writeString(out, prefix.getIri());
+        writeDecimal(out, prefix.getMultiplier());
+        writeString(out, prefix.getSymbol());
+        writeString(out, prefix.getUcumCode());
+        writeLabels(out, prefix.getLabels());
+    }
+
+    private void writeSystemOfUnits(DataOutputStream out, SystemOfUnits systemOfUnits)
+            throws IOException {
+        writeString(out, systemOfUnits.getIri());
+        writeString(out, systemOfUnits.getAbbreviation());
+        writeLabels(out, systemOfUnits.getLabels());
+        writeIris(out, systemOfUnits.getBaseUnits(), Unit::getIri);
+    }
+
+    private void writeQuantityKind(DataOutputStream out, QuantityKind quantityKind)
+            throws IOException {
+        writeString(out, quantityKind.getIri());
+        out.writeByte(quantityKind.isDeprecated() ? FLAG_DEPRECATED : 0);
+        writeString(out, quantityKind.getDimensionVectorIri());
+        writeString(out, quantityKind.getQkdvNumeratorIri());
+        writeString(out, quantityKind.getQkdvDenominatorIri());
+        writeString(out, quantityKind.getSymbol());
+        writeString(out, quantityKind.getDescription());
+        writeLabels(out, quantityKind.getLabels());
+        writeIris(out, quantityKind.getApplicableUnits(), Unit::getIri);
+        writeIris(out, quantityKind.getBroaderQuantityKinds(), QuantityKind::getIri);
+        writeIris(out, quantityKind.getExactMatches(), QuantityKind::getIri);
+    }
+
+    private void writeUnit(DataOutputStream out, Unit unit) throws IOException {
+        writeString(out, unit.getIri());
+        out.writeByte(
+                (unit.isDeprecated() ? FLAG_DEPRECATED : 0)
+                        | (unit.isGenerated() ? FLAG_GENERATED : 0));
+        out.writeInt(unit.getDependents());
+        writeString(out, unit.getPrefix().map(Prefix::getIri));
+        writeString(out, unit.getScalingOf().map(Unit::getIri));
+        writeString(out, unit.getDimensionVectorIri());
+        writeDecimal(out, unit.getConversionMultiplier().orElse(null));
+        writeDecimal(out, unit.getConversionOffset().orElse(null));
+        writeString(out, unit.getSymbol());
+        writeStrings(out, unit.getAltSymbols());
+        writeString(out, unit.getDescription());
+        writeString(out, unit.getUcumCode());
+        writeString(out, unit.getCurrencyCode());
+        out.writeInt(unit.getCurrencyNumber().orElse(NO_CURRENCY_NUMBER));
+        writeLabels(out, unit.getLabels());
+        writeIris(out, unit.getQuantityKinds(), QuantityKind::getIri);
+        writeIris(out, unit.getUnitOfSystems(), SystemOfUnits::getIri);
+        writeIris(out, unit.getExactMatches(), Unit::getIri);
+        if (!unit.hasFactorUnits()) {
+            out.writeInt(NO_FACTOR_UNITS);
+            return;
+        }
+        List<FactorUnit> factorUnits = unit.getFactorUnits().getFactorUnits();
+        out.writeInt(factorUnits.size());
+        writeDecimal(out, unit.getFactorUnits().getScaleFactor());
+        for (FactorUnit factorUnit : factorUnits) {
+            writeString(out, factorUnit.getUnit().getIri());
+            out.writeInt(factorUnit.getExponent());
+        }
+    }
+
+    private void writeConstantValue(DataOutputStream out, ConstantValue constantValue)
+            throws IOException {
+        writeString(out, constantValue.getIri());
+        out.writeByte(constantValue.isDeprecated() ? FLAG_DEPRECATED : 0);
+        writeLabels(out, constantValue.getLabels());
+        writeDecimal(out, constantValue.getValue());
+        writeDecimal(out, constantValue.getStandardUncertainty().orElse(null));
+        writeString(out, constantValue.getUnit().getIri());
+    }
+
+    private void writePhysicalConstant(DataOutputStream out, PhysicalConstant physicalConstant)
+            throws IOException {
+        writeString(out, physicalConstant.getIri());
+        out.writeByte(physicalConstant.isDeprecated() ? FLAG_DEPRECATED : 0);
+        writeLabels(out, physicalConstant.getLabels());
+        writeString(out, physicalConstant.getDescription());
+        writeString(out, physicalConstant.getConstantValue().getIri());
+        writeString(out, physicalConstant.getQuantityKind().getIri());
+    }
+
+    private void writeLabels(DataOutputStream out, Set<LangString> labels) throws IOException {
+        List<LangString> sorted =
+                labels.stream()
+                        .sorted(
+                                Comparator.comparing(LangString::getString)
+                                        .thenComparing(l -> l.getLanguageTag().orElse("")))
+                        .collect(Collectors.toList());
+        out.writeInt(sorted.size());
+        for (LangString label : sorted) {
+            writeString(out, label.getString());
+            writeString(out, label.getLanguageTag());
+        }
+    }
+
+    private <T> void writeIris(DataOutputStream out, Set<T> entities, Function<T, String> getIri)
+            throws IOException {
+        writeStrings(out, entities.stream().map(getIri).collect(Collectors.toSet()));
+    }
+
+    private void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        List<String> sorted = values.stream().sorted().collect(Collectors.toList());
+        out.writeInt(sorted.size());
+        for (String value : sorted) {
+            writeString(out, value);
+        }
+    }
+
+    private void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeString(out, value == null ? null : value.toString());
+    }
+
+    private void writeString(DataOutputStream out, Optional<String> value) throws IOException {
+        writeString(out, value.orElse(null));
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL);
+            return;
+        }
+        Integer index = stringIndexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.add(value);
+            stringIndexes.put(value, index);
+        }
+        out.writeInt(index);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.qudtlib.model;
+
+/** Snapshot of the hit/miss counters of a {@link StripedLruCache}. */
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    CacheStatistics(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of lookups that were answered from the cache, or 1.0 if there were no
+     * lookups yet.
+     *
+     * @return the hit rate
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{"
+                + "hits="
+                + hitCount
+                + ", misses="
+                + missCount
+                + ", evictions="
+                + evictionCount
+                + ", size="
+                + size
+                + '}';
+    }
+}
@@ -3,8 +3,8 @@ package io.github.qudtlib.model;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.Arrays;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
@@ -15,6 +15,11 @@ import java.util.regex.Pattern;
  * <p>Note that the last value, the 'D' dimension is special: it is only an indicator that the
  * dimension vector represents a ratio (causing all other dimensions to cancel each other out). It
  * never changes by multiplication, and its value is only 1 iff all other dimensions are 0.
+ *
+ * <p>Instances obtained via {@link #of(String)}, {@link #ofRequired(String)}, {@link
+ * #combine(DimensionVector)} and {@link #multiply(float)} are interned, so the same instance is
+ * returned for the same IRI or the same result, respectively. The IRI of a computed dimension
+ * vector is only generated when it is requested.
  */
 public class DimensionVector {
 
@@ -27,6 +32,28 @@ public class DimensionVector {
     private static final int INDEX_TEMPERATURE = 5;
     private static final int INDEX_TIME = 6;
 
+    /**
+     * Value of {@link #getPackedValue()} for dimension vectors whose exponents cannot be packed
+     * into a <code>long</code>.
+     */
+    public static final long NOT_PACKABLE = Long.MIN_VALUE;
+
+    private static final int PACKED_BITS_PER_DIMENSION = 8;
+    private static final int PACKED_STEPS_PER_UNIT = 4;
+    private static final int PACKED_MAX_STEPS = 127;
+    private static final int INDEX_RATIO = 7;
+
+    /**
+     * Upper bound for the number of instances held by each of the intern pools. QUDT defines a few
+     * hundred dimension vectors, the limit only guards against unbounded growth from user input.
+     */
+    private static final int MAX_POOL_SIZE = 4096;
+
+    private static final ConcurrentHashMap<String, DimensionVector> poolByIri =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Long, DimensionVector> poolByPackedValue =
+            new ConcurrentHashMap<>();
+
     public static final DecimalFormat FORMAT;
 
     static {
@@ -42,6 +69,10 @@ public class DimensionVector {
     public static DimensionVector DIMENSIONLESS =
             new DimensionVector(new int[] {0, 0, 0, 0, 0, 0, 0, 1});
 
+    /**
+     * The IRI, generated lazily from the values if this dimension vector was not constructed from
+     * an IRI. Racy but benign: all threads compute the same immutable string.
+     */
     private String dimensionVectorIri;
 
     public static Builder builder() {
@@ -94,17 +125,33 @@ public class DimensionVector {
     }
 
     private final float[] values;
+    private final long packedValue;
 
     public static Optional<DimensionVector> of(String dimensionVectorIri) {
         try {
-            return Optional.of(new DimensionVector(dimensionVectorIri));
+            return Optional.of(ofRequired(dimensionVectorIri));
         } catch (Exception e) {
             return Optional.empty();
         }
     }
 
+    /**
+     * Returns the (interned) dimension vector for the specified IRI.
+     *
+     * @param dimensionVectorIri the dimension vector IRI
+     * @return the dimension vector
+     */
     public static DimensionVector ofRequired(String dimensionVectorIri) {
-        return new DimensionVector(dimensionVectorIri);
+        DimensionVector pooled = poolByIri.get(dimensionVectorIri);
+        if (pooled != null) {
+            return pooled;
+        }
+        DimensionVector created = new DimensionVector(dimensionVectorIri);
+        if (poolByIri.size() >= MAX_POOL_SIZE) {
+            return created;
+        }
+        pooled = poolByIri.putIfAbsent(dimensionVectorIri, created);
+        return pooled == null ? created : pooled;
     }
 
     public static Optional<DimensionVector> of(int[] dimensionValues) {
@@ -121,6 +168,83 @@ public class DimensionVector {
 
     public DimensionVector(String dimensionVectorIri) {
         this.dimensionVectorIri = dimensionVectorIri;
+        float[] dimValues = parseValues(dimensionVectorIri);
+        if (dimValues == null) {
+            dimValues = parseValuesWithPatterns(dimensionVectorIri);
+        }
+        this.values = dimValues;
+        this.packedValue = pack(dimValues);
+    }
+
+    /**
+     * Parses the values from the local name of a well-formed dimension vector IRI, such as {@code
+     * A0E0L1I0M0H0T-2D0} or {@code A0E0L0dot5I0M0H0T0D0}, without using regular expressions.
+     * Returns null if the local name is not well-formed.
+     */
+    private static float[] parseValues(String dimensionVectorIri) {
+        int pos = dimensionVectorIri.lastIndexOf('/') + 1;
+        int end = dimensionVectorIri.length();
+        float[] dimValues = new float[8];
+        for (int i = 0; i < 8; i++) {
+            if (pos >= end || dimensionVectorIri.charAt(pos) != dimensions[i]) {
+                return null;
+            }
+            int numberStart = ++pos;
+            boolean negative = pos < end && dimensionVectorIri.charAt(pos) == '-';
+            if (negative) {
+                pos++;
+            }
+            int digitsStart = pos;
+            int whole = 0;
+            while (pos < end && isDigit(dimensionVectorIri.charAt(pos))) {
+                whole = whole * 10 + (dimensionVectorIri.charAt(pos++) - '0');
+                if (pos - digitsStart > 6) {
+                    return null;
+                }
+            }
+            if (pos == digitsStart) {
+                return null;
+            }
+            int wholeEnd = pos;
+            int separatorLength = decimalSeparatorLength(dimensionVectorIri, pos);
+            if (separatorLength == 0) {
+                dimValues[i] = noNegativeZero(negative ? -whole : whole);
+                continue;
+            }
+            int fractionStart = pos + separatorLength;
+            pos = fractionStart;
+            while (pos < end && isDigit(dimensionVectorIri.charAt(pos))) {
+                pos++;
+            }
+            if (pos == fractionStart) {
+                return null;
+            }
+            // rare: let the JDK do the correctly rounded decimal conversion
+            String decimal =
+                    dimensionVectorIri.substring(numberStart, wholeEnd)
+                            + "."
+                            + dimensionVectorIri.substring(fractionStart, pos);
+            dimValues[i] = noNegativeZero(Float.parseFloat(decimal));
+        }
+        return pos == end ? dimValues : null;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int decimalSeparatorLength(String str, int pos) {
+        if (str.startsWith(DOT, pos)) {
+            return DOT.length();
+        }
+        if (str.startsWith("pt", pos)) {
+            return 2;
+        }
+        return 0;
+    }
+
+    /** Lenient parser for IRIs that {@link #parseValues(String)} rejects. */
+    private static float[] parseValuesWithPatterns(String dimensionVectorIri) {
         String localName = dimensionVectorIri.substring(dimensionVectorIri.lastIndexOf("/") + 1);
         float[] dimValues = new float[8];
         String[] numbers = localName.split("[^\\-\\d((pt|dot)\\d+)?]");
@@ -149,8 +273,7 @@ public class DimensionVector {
                 // element
             }
         }
-
-        this.values = dimValues;
+        return dimValues;
     }
 
     public DimensionVector(int[] dimensionValues) {
@@ -158,16 +281,11 @@ public class DimensionVector {
             throw new RuntimeException(
                     "wrong dimensionality, expected 8, got " + dimensionValues.length);
         }
-        StringBuilder sb = new StringBuilder();
-
         this.values = new float[8];
-
         for (int i = 0; i < 8; i++) {
-            sb.append(dimensions[i]).append(dimensionValues[i]);
             this.values[i] = noNegativeZero((float) dimensionValues[i]);
         }
-
-        this.dimensionVectorIri = QudtNamespaces.dimensionVector.makeIriInNamespace(sb.toString());
+        this.packedValue = pack(this.values);
     }
 
     public DimensionVector(float[] dimensionValues) {
@@ -175,16 +293,73 @@ public class DimensionVector {
             throw new RuntimeException(
                     "wrong dimensionality, expected 8, got " + dimensionValues.length);
         }
-        StringBuilder sb = new StringBuilder();
-
         this.values = dimensionValues;
-
         for (int i = 0; i < 8; i++) {
             this.values[i] = noNegativeZero(values[i]);
-            sb.append(dimensions[i]).append(iriFormat(values[i]));
         }
+        this.packedValue = pack(this.values);
+    }
+
+    private DimensionVector(long packedValue) {
+        this.values = new float[8];
+        for (int i = 0; i < 8; i++) {
+            this.values[i] = (float) unpackSteps(packedValue, i) / PACKED_STEPS_PER_UNIT;
+        }
+        this.packedValue = packedValue;
+    }
+
+    /**
+     * Returns the interned dimension vector for the specified packed value, creating it if
+     * necessary.
+     */
+    private static DimensionVector ofPackedValue(long packedValue) {
+        DimensionVector pooled = poolByPackedValue.get(packedValue);
+        if (pooled != null) {
+            return pooled;
+        }
+        DimensionVector created = new DimensionVector(packedValue);
+        if (poolByPackedValue.size() >= MAX_POOL_SIZE) {
+            return created;
+        }
+        pooled = poolByPackedValue.putIfAbsent(packedValue, created);
+        return pooled == null ? created : pooled;
+    }
+
+    /**
+     * Packs the exponents into a <code>long</code>, using one byte per dimension that holds the
+     * exponent in steps of 1/4. Returns {@link #NOT_PACKABLE} if an exponent is not a multiple of
+     * 1/4 or its absolute value exceeds 31.75.
+     */
+    private static long pack(float[] values) {
+        long packed = 0;
+        for (int i = 0; i < values.length; i++) {
+            float scaled = values[i] * PACKED_STEPS_PER_UNIT;
+            int steps = (int) scaled;
+            if (steps != scaled || Math.abs(steps) > PACKED_MAX_STEPS) {
+                return NOT_PACKABLE;
+            }
+            packed |= packSteps(steps, i);
+        }
+        return packed;
+    }
+
+    private static int unpackSteps(long packedValue, int index) {
+        return (byte) (packedValue >>> (index * PACKED_BITS_PER_DIMENSION));
+    }
 
-        this.dimensionVectorIri = QudtNamespaces.dimensionVector.makeIriInNamespace(sb.toString());
+    private static long packSteps(int steps, int index) {
+        return (long) (steps & 0xFF) << (index * PACKED_BITS_PER_DIMENSION);
+    }
+
+    /**
+     * Sets the ratio dimension of the packed value, which must be 0 on input, to 1 if all other
+     * dimensions are 0.
+     */
+    private static long withRatio(long packedValue) {
+        if (packedValue == 0) {
+            return packSteps(PACKED_STEPS_PER_UNIT, INDEX_RATIO);
+        }
+        return packedValue;
     }
 
     private static float noNegativeZero(float f) {
@@ -213,13 +388,39 @@ public class DimensionVector {
     }
 
     public String getDimensionVectorIri() {
-        return dimensionVectorIri;
+        String iri = this.dimensionVectorIri;
+        if (iri == null) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                sb.append(dimensions[i]).append(iriFormat(values[i]));
+            }
+            iri = QudtNamespaces.dimensionVector.makeIriInNamespace(sb.toString());
+            this.dimensionVectorIri = iri;
+        }
+        return iri;
     }
 
+    /**
+     * Returns the exponents of this dimension vector. The array is shared (also with other users of
+     * an interned instance) and must not be modified.
+     *
+     * @return the exponents
+     */
     public float[] getValues() {
         return values;
     }
 
+    /**
+     * Returns the exponents of this dimension vector packed into a single <code>long</code>, or
+     * {@link #NOT_PACKABLE} if they cannot be packed (which does not happen for dimension vectors
+     * found in QUDT). Two packable dimension vectors are equal iff their packed values are equal.
+     *
+     * @return the packed exponents
+     */
+    public long getPackedValue() {
+        return packedValue;
+    }
+
     public float getAmountOfSubstanceExponent() {
         return this.values[INDEX_AMOUNT_OF_SUBSTANCE];
     }
@@ -249,6 +450,20 @@ public class DimensionVector {
     }
 
     public DimensionVector multiply(float by) {
+        if (this.packedValue != NOT_PACKABLE) {
+            long packed = 0;
+            for (int i = 0; i < INDEX_RATIO && packed != NOT_PACKABLE; i++) {
+                float steps = unpackSteps(this.packedValue, i) * by;
+                if (steps != (int) steps || Math.abs(steps) > PACKED_MAX_STEPS) {
+                    packed = NOT_PACKABLE;
+                } else {
+                    packed |= packSteps((int) steps, i);
+                }
+            }
+            if (packed != NOT_PACKABLE) {
+                return ofPackedValue(withRatio(packed));
+            }
+        }
         float[] mult = new float[8];
         boolean isRatio = true;
         for (int i = 0; i < 7; i++) {
@@ -266,6 +481,20 @@ public class DimensionVector {
     }
 
     public DimensionVector combine(DimensionVector other) {
+        if (this.packedValue != NOT_PACKABLE && other.packedValue != NOT_PACKABLE) {
+            long packed = 0;
+            for (int i = 0; i < INDEX_RATIO && packed != NOT_PACKABLE; i++) {
+                int steps = unpackSteps(this.packedValue, i) + unpackSteps(other.packedValue, i);
+                if (Math.abs(steps) > PACKED_MAX_STEPS) {
+                    packed = NOT_PACKABLE;
+                } else {
+                    packed |= packSteps(steps, i);
+                }
+            }
+            if (packed != NOT_PACKABLE) {
+                return ofPackedValue(withRatio(packed));
+            }
+        }
         float[] combined = new float[8];
         boolean isRatio = true;
         for (int i = 0; i < 7; i++) {
@@ -278,19 +507,26 @@ public class DimensionVector {
         return new DimensionVector(combined);
     }
 
+    /**
+     * Two dimension vectors are equal if their exponents are equal. For all but the most exotic
+     * dimension vectors, this is a comparison of their packed values.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof DimensionVector)) return false;
         DimensionVector that = (DimensionVector) o;
-        return Objects.equals(getDimensionVectorIri(), that.getDimensionVectorIri())
-                && Arrays.equals(getValues(), that.getValues());
+        if (this.packedValue != NOT_PACKABLE || that.packedValue != NOT_PACKABLE) {
+            return this.packedValue == that.packedValue;
+        }
+        return Arrays.equals(getValues(), that.getValues());
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(getDimensionVectorIri());
-        result = 31 * result + Arrays.hashCode(getValues());
-        return result;
+        if (this.packedValue != NOT_PACKABLE) {
+            return Long.hashCode(this.packedValue);
+        }
+        return Arrays.hashCode(getValues());
     }
 }
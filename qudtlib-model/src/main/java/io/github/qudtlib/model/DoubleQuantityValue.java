@@ -0,0 +1,82 @@
+package io.github.qudtlib.model;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Counterpart of {@link QuantityValue} holding a primitive <code>double</code> value instead of a
+ * {@link BigDecimal}. Conversions use the double precision path of {@link Unit#convert(double,
+ * Unit, QuantityKind)}, which is much faster but less precise than the {@link BigDecimal} path; see
+ * there for the error bounds.
+ */
+public class DoubleQuantityValue {
+    private final double value;
+    private final Unit unit;
+
+    public DoubleQuantityValue(double value, Unit unit) {
+        Objects.requireNonNull(unit);
+        this.value = value;
+        this.unit = unit;
+    }
+
+    public static DoubleQuantityValue of(double value, Unit unit) {
+        return new DoubleQuantityValue(value, unit);
+    }
+
+    public static DoubleQuantityValue of(QuantityValue quantityValue) {
+        return new DoubleQuantityValue(
+                quantityValue.getValue().doubleValue(), quantityValue.getUnit());
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public Unit getUnit() {
+        return unit;
+    }
+
+    public DoubleQuantityValue convert(Unit toUnit) throws InconvertibleQuantitiesException {
+        return convert(toUnit, null);
+    }
+
+    /**
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases
+     * @return the converted value
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public DoubleQuantityValue convert(Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        return new DoubleQuantityValue(this.unit.convert(this.value, toUnit, quantityKind), toUnit);
+    }
+
+    /**
+     * Returns the equivalent {@link QuantityValue}. The value is converted to {@link BigDecimal}
+     * via {@link BigDecimal#valueOf(double)}, i.e. using the shortest decimal representation of the
+     * <code>double</code>.
+     *
+     * @return the quantity value
+     */
+    public QuantityValue toQuantityValue() {
+        return new QuantityValue(BigDecimal.valueOf(value), unit);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DoubleQuantityValue that = (DoubleQuantityValue) o;
+        return Double.compare(value, that.value) == 0 && Objects.equals(unit, that.unit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, unit);
+    }
+
+    public String toString() {
+        return value + " " + unit.toString();
+    }
+}
@@ -257,10 +257,10 @@ public class FactorUnit {
     }
 
     public Optional<String> getDimensionVectorIri() {
-        if (this.unit.getDimensionVectorIri().isEmpty()) {
-            return Optional.empty();
-        }
-        DimensionVector dv = new DimensionVector(this.unit.getDimensionVectorIri().get());
-        return Optional.of(dv.multiply(this.exponent).getDimensionVectorIri());
+        return getDimensionVector().map(DimensionVector::getDimensionVectorIri);
+    }
+
+    public Optional<DimensionVector> getDimensionVector() {
+        return this.unit.getDimensionVector().map(dv -> dv.multiply(this.exponent));
     }
 }
@@ -11,14 +11,18 @@ import java.math.MathContext;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public class FactorUnits {
     private static final FactorUnits EMPTY_FACTOR_UNITS = new FactorUnits(new ArrayList<>());
+    private static final String PER_SEPARATOR = "PER-";
     private final List<FactorUnit> factorUnits;
     private final BigDecimal scaleFactor;
-    private DimensionVector dimensionVector;
-    private transient FactorUnits normalized = null;
+    // computed on first use; volatile so that instances can be shared between threads
+    private volatile DimensionVector dimensionVector;
+    private transient volatile FactorUnits normalized = null;
+    private final Object lazyInitLock = new Object();
 
     public FactorUnits(
             List<FactorUnit> factorUnits, BigDecimal scaleFactor, String iriForSortingFactors) {
@@ -332,11 +336,17 @@ public class FactorUnits {
     }
 
     public FactorUnits normalize() {
-        if (this.normalized != null) {
-            return this.normalized;
+        FactorUnits result = this.normalized;
+        if (result == null) {
+            synchronized (lazyInitLock) {
+                result = this.normalized;
+                if (result == null) {
+                    result = calculateNormalized();
+                    this.normalized = result;
+                }
+            }
         }
-        this.normalized = calculateNormalized();
-        return this.normalized;
+        return result;
     }
 
     private FactorUnits calculateNormalized() {
@@ -357,10 +367,17 @@ public class FactorUnits {
     }
 
     public DimensionVector getDimensionVector() {
-        if (this.dimensionVector == null) {
-            this.dimensionVector = this.computeDimensionVector();
+        DimensionVector result = this.dimensionVector;
+        if (result == null) {
+            synchronized (lazyInitLock) {
+                result = this.dimensionVector;
+                if (result == null) {
+                    result = this.computeDimensionVector();
+                    this.dimensionVector = result;
+                }
+            }
         }
-        return this.dimensionVector;
+        return result;
     }
 
     private DimensionVector computeDimensionVector() {
@@ -370,7 +387,7 @@ public class FactorUnits {
 
         DimensionVector dv = null;
         for (FactorUnit fu : this.factorUnits) {
-            Optional<String> fudvOpt = fu.getDimensionVectorIri();
+            Optional<DimensionVector> fudvOpt = fu.getDimensionVector();
             if (fudvOpt.isEmpty()) {
                 throw new IncompleteDataException(
                         String.format(
@@ -378,9 +395,9 @@ public class FactorUnits {
                                 this.toString(), fu.getUnit().getIriAbbreviated()));
             }
             if (dv == null) {
-                dv = DimensionVector.ofRequired(fudvOpt.get());
+                dv = fudvOpt.get();
             } else {
-                dv = dv.combine(DimensionVector.ofRequired(fudvOpt.get()));
+                dv = dv.combine(fudvOpt.get());
             }
         }
 
@@ -446,8 +463,8 @@ public class FactorUnits {
     }
 
     public BigDecimal conversionFactor(Unit other) {
-        if (!other.getDimensionVectorIri()
-                .map(dv -> dv.equals(this.getDimensionVectorIri()))
+        if (!other.getDimensionVector()
+                .map(dv -> dv.equals(this.getDimensionVector()))
                 .orElse(false)) {
             throw new InconvertibleQuantitiesException(
                     String.format(
@@ -465,7 +482,7 @@ public class FactorUnits {
     }
 
     public BigDecimal conversionFactor(FactorUnits otherFactorUnits) {
-        if (!otherFactorUnits.getDimensionVectorIri().equals(this.getDimensionVectorIri())) {
+        if (!otherFactorUnits.getDimensionVector().equals(this.getDimensionVector())) {
             throw new InconvertibleQuantitiesException(
                     String.format(
                             "Cannot convert from %s to %s: dimension vectors differ (%s vs %s)",
@@ -700,68 +717,157 @@ public class FactorUnits {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns all localnames that can be formed from these factor units, i.e. all permutations of
+     * the numerator factors combined with all permutations of the denominator factors. The size of
+     * the result grows factorially with the number of factors; use {@link
+     * #isLocalnamePossibility(String)} to check a localname instead.
+     *
+     * @return the localnames
+     */
     public List<String> generateAllLocalnamePossibilities() {
         return this.streamLocalnamePossibilities().collect(toList());
     }
 
+    /**
+     * Lazily generates the localnames returned by {@link #generateAllLocalnamePossibilities()}, in
+     * the same order.
+     *
+     * @return the localnames
+     */
     public Stream<String> streamLocalnamePossibilities() {
         return streamFactorUnitLocalnames(fu -> fu.getExponent() > 0)
                 .flatMap(
                         numeratorOption ->
                                 streamFactorUnitLocalnames(fu -> fu.getExponent() < 0)
                                         .map(
-                                                denominatorOption -> {
-                                                    StringBuilder completeOption =
-                                                            new StringBuilder();
-                                                    if (numeratorOption.length() > 0) {
-                                                        completeOption.append(numeratorOption);
-                                                    }
-                                                    if (denominatorOption.length() > 0) {
-                                                        if (completeOption.length() > 0) {
-                                                            completeOption.append("-");
-                                                        }
-                                                        completeOption.append("PER-");
-                                                        completeOption.append(denominatorOption);
-                                                    }
-                                                    return completeOption.toString();
-                                                }));
-    }
-
-    private List<String> permutateFactorUnitLocalnames(Predicate<FactorUnit> factorUnitPredicate) {
-        return this.streamFactorUnitLocalnames(factorUnitPredicate).collect(toList());
+                                                denominatorOption ->
+                                                        combineLocalnameOption(
+                                                                numeratorOption,
+                                                                denominatorOption)));
+    }
+
+    /**
+     * Returns true if the specified localname is one of the localnames returned by {@link
+     * #generateAllLocalnamePossibilities()}, without generating them.
+     *
+     * @param localname the localname to check
+     * @return true if the localname can be formed from these factor units
+     */
+    public boolean isLocalnamePossibility(String localname) {
+        List<String> numeratorNames = factorUnitLocalnames(fu -> fu.getExponent() > 0);
+        List<String> denominatorNames = factorUnitLocalnames(fu -> fu.getExponent() < 0);
+        if (denominatorNames.isEmpty()) {
+            return isPermutation(localname, 0, localname.length(), numeratorNames);
+        }
+        int perIndex = localname.indexOf(PER_SEPARATOR);
+        while (perIndex >= 0) {
+            if (isNumeratorBefore(localname, perIndex, numeratorNames)
+                    && isPermutation(
+                            localname,
+                            perIndex + PER_SEPARATOR.length(),
+                            localname.length(),
+                            denominatorNames)) {
+                return true;
+            }
+            perIndex = localname.indexOf(PER_SEPARATOR, perIndex + 1);
+        }
+        return false;
+    }
+
+    private static boolean isNumeratorBefore(
+            String localname, int perIndex, List<String> numeratorNames) {
+        if (numeratorNames.isEmpty()) {
+            return perIndex == 0;
+        }
+        return perIndex > 0
+                && localname.charAt(perIndex - 1) == '-'
+                && isPermutation(localname, 0, perIndex - 1, numeratorNames);
+    }
+
+    /**
+     * Returns true if the region [from, to) of the string consists of all the specified names in
+     * some order, separated by '-'.
+     */
+    private static boolean isPermutation(String str, int from, int to, List<String> names) {
+        if (names.isEmpty()) {
+            return from == to;
+        }
+        Set<String> tried = new HashSet<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            if (!tried.add(name) || !str.startsWith(name, from)) {
+                continue;
+            }
+            int end = from + name.length();
+            if (names.size() == 1) {
+                if (end == to) {
+                    return true;
+                }
+                continue;
+            }
+            if (end < to && str.charAt(end) == '-') {
+                List<String> others = new ArrayList<>(names);
+                others.remove(i);
+                if (isPermutation(str, end + 1, to, others)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String combineLocalnameOption(String numeratorOption, String denominatorOption) {
+        StringBuilder completeOption = new StringBuilder();
+        if (numeratorOption.length() > 0) {
+            completeOption.append(numeratorOption);
+        }
+        if (denominatorOption.length() > 0) {
+            if (completeOption.length() > 0) {
+                completeOption.append("-");
+            }
+            completeOption.append(PER_SEPARATOR);
+            completeOption.append(denominatorOption);
+        }
+        return completeOption.toString();
+    }
+
+    private List<String> factorUnitLocalnames(Predicate<FactorUnit> filterPredicate) {
+        return this.factorUnits.stream()
+                .filter(filterPredicate)
+                .map(
+                        fu ->
+                                getLocalname(fu.unit.getIri())
+                                        + (Math.abs(fu.exponent) > 1 ? Math.abs(fu.exponent) : ""))
+                .collect(toList());
     }
 
     private Stream<String> streamFactorUnitLocalnames(Predicate<FactorUnit> filterPredicate) {
-        return permutate(
-                        this.factorUnits.stream()
-                                .filter(filterPredicate)
-                                .map(
-                                        fu ->
-                                                getLocalname(fu.unit.getIri())
-                                                        + (Math.abs(fu.exponent) > 1
-                                                                ? Math.abs(fu.exponent)
-                                                                : ""))
-                                .collect(toList()))
-                .stream()
+        return permutate(factorUnitLocalnames(filterPredicate))
                 .map(strings -> strings.stream().collect(Collectors.joining("-")));
     }
 
-    private List<List<String>> permutate(List<String> strings) {
-        List<List<String>> ret = new ArrayList<>();
+    /** Lazily generates all permutations of the specified strings. */
+    private static Stream<List<String>> permutate(List<String> strings) {
         if (strings.size() <= 1) {
-            ret.add(strings);
-            return ret;
-        }
-        for (int i = 0; i < strings.size(); i++) {
-            List<String> otherElements = new ArrayList<>(strings);
-            otherElements.remove(i);
-            List<List<String>> othersPermutated = permutate(otherElements);
-            for (List<String> otherPermutated : othersPermutated) {
-                otherPermutated.add(0, strings.get(i));
-            }
-            ret.addAll(othersPermutated);
+            return Stream.of(strings);
         }
-        return ret;
+        return IntStream.range(0, strings.size())
+                .boxed()
+                .flatMap(
+                        i -> {
+                            List<String> otherElements = new ArrayList<>(strings);
+                            String first = otherElements.remove((int) i);
+                            return permutate(otherElements)
+                                    .map(
+                                            otherPermutated -> {
+                                                List<String> permutation =
+                                                        new ArrayList<>(strings.size());
+                                                permutation.add(first);
+                                                permutation.addAll(otherPermutated);
+                                                return permutation;
+                                            });
+                        });
     }
 
     public BigDecimal getConversionMultiplier() {
@@ -27,6 +27,7 @@ public class Prefix extends SelfSmuggler {
         private String symbol;
         private String ucumCode;
         private Set<LangString> labels = new HashSet<>();
+        private Integer id;
 
         public Definition(String iri) {
             super(iri);
@@ -60,6 +61,11 @@ public class Prefix extends SelfSmuggler {
             return this;
         }
 
+        public Definition id(int id) {
+            this.id = id;
+            return this;
+        }
+
         public Prefix doBuild() {
             return new Prefix(this);
         }
@@ -78,6 +84,7 @@ public class Prefix extends SelfSmuggler {
         }
     }
 
+    private final int id;
     private final String iri;
     private final BigDecimal multiplier;
     private final String symbol;
@@ -91,6 +98,7 @@ public class Prefix extends SelfSmuggler {
         Objects.requireNonNull(definition.multiplier);
         Objects.requireNonNull(definition.symbol);
         Objects.requireNonNull(definition.labels);
+        this.id = definition.id == null ? -1 : definition.id;
         this.iri = definition.iri;
         this.multiplier = definition.multiplier;
         this.symbol = definition.symbol;
@@ -98,6 +106,15 @@ public class Prefix extends SelfSmuggler {
         this.ucumCode = definition.ucumCode;
     }
 
+    /**
+     * Returns the dense id assigned to the prefix when the model was initialized (see {@link
+     * io.github.qudtlib.init.Initializer.Definitions#assignIds()}), or -1 if it has none, for
+     * example because it was created at runtime.
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getIri() {
         return iri;
     }
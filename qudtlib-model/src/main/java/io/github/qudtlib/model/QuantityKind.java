@@ -43,6 +43,7 @@ public class QuantityKind extends SelfSmuggler {
         private String symbol;
         private String description;
         private Boolean deprecated;
+        private Integer id;
 
         public Definition(String iri) {
             super(iri);
@@ -134,12 +135,18 @@ public class QuantityKind extends SelfSmuggler {
             return (T) this;
         }
 
+        public <T extends Definition> T id(int id) {
+            this.id = id;
+            return (T) this;
+        }
+
         @Override
         protected QuantityKind doBuild() {
             return new QuantityKind(this);
         }
     }
 
+    private final int id;
     private final String iri;
     private final LangStrings labels;
     private final Set<Unit> applicableUnits;
@@ -159,11 +166,12 @@ public class QuantityKind extends SelfSmuggler {
         super(definition);
         Objects.requireNonNull(definition.iri);
         Objects.requireNonNull(definition.applicableUnits);
+        this.id = definition.id == null ? -1 : definition.id;
         this.iri = definition.iri;
         this.labels = new LangStrings(definition.labels);
 
         if (definition.dimensionVectorIri != null) {
-            this.dimensionVector = new DimensionVector(definition.dimensionVectorIri);
+            this.dimensionVector = DimensionVector.ofRequired(definition.dimensionVectorIri);
         }
         this.description = definition.description;
         this.qkdvDenominatorIri = definition.qkdvDenominatorIri;
@@ -175,6 +183,15 @@ public class QuantityKind extends SelfSmuggler {
         this.deprecated = Optional.ofNullable(definition.deprecated).orElse(false);
     }
 
+    /**
+     * Returns the dense id assigned to the quantity kind when the model was initialized (see {@link
+     * io.github.qudtlib.init.Initializer.Definitions#assignIds()}), or -1 if it has none, for
+     * example because it was created at runtime.
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getIri() {
         return iri;
     }
@@ -216,14 +233,16 @@ public class QuantityKind extends SelfSmuggler {
         }
 
         if (this.broaderQuantityKinds != null) {
-            return this.broaderQuantityKinds.stream()
-                    .map(QuantityKind::getDimensionVector)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .findFirst();
+            this.dimensionVector =
+                    this.broaderQuantityKinds.stream()
+                            .map(QuantityKind::getDimensionVector)
+                            .filter(Optional::isPresent)
+                            .map(Optional::get)
+                            .findFirst()
+                            .orElse(null);
         }
 
-        return Optional.empty();
+        return Optional.ofNullable(this.dimensionVector);
     }
 
     public Optional<String> getDimensionVectorIri() {
@@ -0,0 +1,178 @@
+package io.github.qudtlib.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe LRU cache with hit/miss/eviction statistics, the basis of the caches for
+ * values derived from units.
+ *
+ * <p>The cache is split into a fixed number of stripes, each of which is a small LRU map guarded by
+ * its own lock, so that concurrent lookups of different keys rarely contend. When a stripe exceeds
+ * its share of the maximum size, its least recently used entry is evicted. Values are computed
+ * outside of the lock; if two threads compute the value for the same key concurrently, the first
+ * one stored wins. A maximum size of 0 disables caching.
+ *
+ * @param <K> the type of the keys, which must implement {@code equals()} and {@code hashCode()}
+ * @param <V> the type of the cached values
+ */
+public final class StripedLruCache<K, V> {
+    private static final int STRIPE_COUNT = 16;
+
+    private final List<Stripe<K, V>> stripes;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of cached values: 0 to disable caching, or at least 16
+     */
+    public StripedLruCache(int maximumSize) {
+        if (maximumSize != 0 && maximumSize < STRIPE_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "maximumSize must be 0 or at least %d, was %d",
+                            STRIPE_COUNT, maximumSize));
+        }
+        this.maximumSize = maximumSize;
+        int stripeCount = maximumSize == 0 ? 0 : STRIPE_COUNT;
+        this.stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes.add(new Stripe<>(maximumSize / STRIPE_COUNT, evictions));
+        }
+    }
+
+    /**
+     * Returns the value cached for the key, computing and caching it if absent. Exceptions thrown
+     * by the computation are propagated, nothing is cached in that case.
+     *
+     * @param key the key
+     * @param computation computes the value if it is not cached. Must not return null.
+     * @return the cached or computed value
+     */
+    public V get(K key, Supplier<V> computation) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        return putIfAbsent(key, Objects.requireNonNull(computation.get()));
+    }
+
+    /**
+     * Returns the value cached for the key, counting a hit if there is one and a miss otherwise.
+     *
+     * @param key the key
+     * @return the cached value, or null if there is none
+     */
+    public V getIfPresent(K key) {
+        V value = null;
+        if (maximumSize > 0) {
+            Stripe<K, V> stripe = stripeFor(key);
+            synchronized (stripe) {
+                value = stripe.get(key);
+            }
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches the value unless a value is already cached for the key.
+     *
+     * @param key the key
+     * @param value the value, must not be null
+     * @return the value cached for the key, which is the specified value unless there already was
+     *     one (or the cache is disabled)
+     */
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        if (maximumSize == 0) {
+            return value;
+        }
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            V existing = stripe.putIfAbsent(key, value);
+            return existing == null ? value : existing;
+        }
+    }
+
+    /** Removes all entries. The statistics are not reset. */
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int h = key.hashCode();
+        return stripes.get((h ^ (h >>> 16)) & (STRIPE_COUNT - 1));
+    }
+
+    /** LRU map holding a share of the entries, guarded by its own lock. */
+    private static final class Stripe<K, V> {
+        private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maximumSize;
+        private final LongAdder evictions;
+
+        Stripe(int maximumSize, LongAdder evictions) {
+            this.maximumSize = maximumSize;
+            this.evictions = evictions;
+        }
+
+        V get(K key) {
+            return entries.get(key);
+        }
+
+        /** Stores the value unless the key is present, evicting the eldest entry if necessary. */
+        V putIfAbsent(K key, V value) {
+            V existing = entries.putIfAbsent(key, value);
+            if (existing == null && entries.size() > maximumSize) {
+                Iterator<K> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+            return existing;
+        }
+
+        void clear() {
+            entries.clear();
+        }
+
+        int size() {
+            return entries.size();
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class SystemOfUnits extends SelfSmuggler {
         private String abbreviation;
         private Set<LangString> labels = new HashSet<>();
         private Set<Builder<Unit>> baseUnits = new HashSet<>();
+        private Integer id;
 
         Definition(String iri) {
             super(iri);
@@ -68,11 +69,17 @@ public class SystemOfUnits extends SelfSmuggler {
             return this;
         }
 
+        public Definition id(int id) {
+            this.id = id;
+            return this;
+        }
+
         public SystemOfUnits doBuild() {
             return new SystemOfUnits(this);
         }
     }
 
+    private final int id;
     private final String iri;
     private final String abbreviation;
     private final LangStrings labels;
@@ -84,12 +91,22 @@ public class SystemOfUnits extends SelfSmuggler {
         Objects.requireNonNull(definition.labels);
         Objects.requireNonNull(definition.baseUnits);
         definition.setProduct(this);
+        this.id = definition.id == null ? -1 : definition.id;
         this.iri = definition.iri;
         this.abbreviation = definition.abbreviation;
         this.labels = new LangStrings(definition.labels);
         this.baseUnits = buildSet(definition.baseUnits);
     }
 
+    /**
+     * Returns the dense id assigned to the system of units when the model was initialized (see {@link
+     * io.github.qudtlib.init.Initializer.Definitions#assignIds()}), or -1 if it has none, for
+     * example because it was created at runtime.
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getIri() {
         return iri;
     }
@@ -77,6 +77,8 @@ public class Unit extends SelfSmuggler {
 
         private Integer dependents;
 
+        private Integer id;
+
         private Set<Builder<Unit>> exactMatches = new HashSet<>();
         private Set<Builder<SystemOfUnits>> systemsOfUnits = new HashSet<>();
 
@@ -110,6 +112,11 @@ public class Unit extends SelfSmuggler {
             return (T) this;
         }
 
+        public <T extends Definition> T id(int id) {
+            this.id = id;
+            return (T) this;
+        }
+
         public <T extends Definition> T altSymbol(String symbol) {
             if (symbol != null && !symbol.trim().isEmpty()) {
                 this.altSymbols.add(symbol);
@@ -266,6 +273,7 @@ public class Unit extends SelfSmuggler {
         }
     }
 
+    private final int id;
     private final String iri;
     private final Prefix prefix;
     private final BigDecimal conversionMultiplier;
@@ -285,20 +293,32 @@ public class Unit extends SelfSmuggler {
     private final Integer currencyNumber;
     private final Set<SystemOfUnits> unitOfSystems;
 
-    private DimensionVector dimensionVector;
+    // set from the definition or computed on first use, empty if the unit has no dimension vector;
+    // volatile so that units can be shared between threads
+    private volatile Optional<DimensionVector> dimensionVector;
+    private final Object dimensionVectorLock = new Object();
 
     private final boolean deprecated;
     private final boolean generated;
 
+    private final double conversionMultiplierDouble;
+    private final double conversionOffsetDouble;
+
+    private static final UnitPairCache<UnitConverter> converterCache = new UnitPairCache<>();
+    private static final UnitPairCache<BigDecimal> conversionMultiplierCache =
+            new UnitPairCache<>();
+
     protected Unit(Definition definition) {
         super(definition);
         Objects.requireNonNull(definition.iri);
         Objects.requireNonNull(definition.labels);
         Objects.requireNonNull(definition.factorUnits);
         Objects.requireNonNull(definition.quantityKinds);
+        this.id = definition.id == null ? -1 : definition.id;
         this.iri = definition.iri;
         if (definition.dimensionVectorIri != null) {
-            this.dimensionVector = new DimensionVector(definition.dimensionVectorIri);
+            this.dimensionVector =
+                    Optional.of(DimensionVector.ofRequired(definition.dimensionVectorIri));
         }
         this.conversionMultiplier = definition.conversionMultiplier;
         this.conversionOffset = definition.conversionOffset;
@@ -345,6 +365,10 @@ public class Unit extends SelfSmuggler {
             this.factorUnits = FactorUnits.ofUnit(this);
         }
         this.deprecated = Optional.ofNullable(definition.deprecated).orElse(false);
+        this.conversionMultiplierDouble =
+                getConversionMultiplier().map(BigDecimal::doubleValue).orElse(1.0);
+        this.conversionOffsetDouble =
+                this.conversionOffset == null ? 0.0 : this.conversionOffset.doubleValue();
     }
 
     static boolean isUnitless(Unit unit) {
@@ -399,42 +423,118 @@ public class Unit extends SelfSmuggler {
             throws InconvertibleQuantitiesException {
         Objects.requireNonNull(value);
         Objects.requireNonNull(toUnit);
-        boolean ignoreOffset = false;
-        if (quantityKind != null) {
-            if (quantityKind.getIriLocalname().equals(TEMPERATURE_DIFFERENCE)) {
-                ignoreOffset = true;
-            }
-        }
         if (this.equals(toUnit)) {
             return value;
         }
         if (isUnitless(this) || isUnitless(toUnit)) {
             return value;
         }
+        return getConverter(toUnit, quantityKind).convertStepwise(value);
+    }
+
+    public double convert(double value, Unit toUnit) throws InconvertibleQuantitiesException {
+        return convert(value, toUnit, null);
+    }
+
+    /**
+     * Converts the specified <code>value</code> into <code>toUnit</code> using double precision
+     * arithmetic. This is considerably faster than {@link #convert(BigDecimal, Unit, QuantityKind)}
+     * and does not create intermediate objects, as the conversion multiplier and offset of each
+     * unit are rounded to the nearest <code>double</code> when the unit is created.
+     *
+     * <p>Error bounds: let {@code u = 2^-53} (about 1.1e-16) be the unit roundoff of {@code
+     * double}. For units without conversion offset, the result differs from the result of the
+     * {@link MathContext#DECIMAL128} path by a relative error of at most {@code 4u} (about
+     * 4.4e-16). For units with conversion offsets (e.g. temperature units), the absolute error is
+     * at most {@code 6u * (|v| + |o1|) * m1 / m2 + u * (|o2| + |r|)}, where {@code v} is the value,
+     * {@code m1, o1} and {@code m2, o2} are the multiplier and offset of this unit and of {@code
+     * toUnit}, respectively, and {@code r} is the result. The relative error may therefore be
+     * larger for results close to zero.
+     *
+     * @param value the value to convert
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases. Pass null for normal
+     *     conversion.
+     * @return the converted value
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public double convert(double value, Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        Objects.requireNonNull(toUnit);
+        if (this.equals(toUnit) || isUnitless(this) || isUnitless(toUnit)) {
+            return value;
+        }
+        checkConvertible(toUnit);
+        if (isOffsetIgnored(quantityKind)) {
+            return value * this.conversionMultiplierDouble / toUnit.conversionMultiplierDouble;
+        }
+        double baseValue = (value + this.conversionOffsetDouble) * this.conversionMultiplierDouble;
+        return baseValue / toUnit.conversionMultiplierDouble - toUnit.conversionOffsetDouble;
+    }
+
+    /**
+     * Returns a {@link UnitConverter} for converting values from this unit into <code>toUnit
+     * </code>. Use it instead of {@link #convert(BigDecimal, Unit)} when converting many values
+     * between the same two units.
+     *
+     * @param toUnit the target unit
+     * @return the converter
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public UnitConverter getConverter(Unit toUnit) throws InconvertibleQuantitiesException {
+        return getConverter(toUnit, null);
+    }
+
+    /**
+     * Returns a {@link UnitConverter} for converting values from this unit into <code>toUnit
+     * </code>, allowing for special handling depending on the specified quantity kind (see {@link
+     * #convert(BigDecimal, Unit, QuantityKind)}).
+     *
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases. Pass null for normal
+     *     conversion.
+     * @return the converter
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     */
+    public UnitConverter getConverter(Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        return converterCache.get(
+                this, toUnit, quantityKind, () -> new UnitConverter(this, toUnit, quantityKind));
+    }
+
+    /**
+     * Returns the hit/miss statistics of the cache holding the {@link UnitConverter}s returned by
+     * {@link #getConverter(Unit, QuantityKind)}, which is also used by {@link #convert(BigDecimal,
+     * Unit, QuantityKind)}.
+     *
+     * @return the statistics
+     */
+    public static CacheStatistics getConverterCacheStatistics() {
+        return converterCache.getStatistics();
+    }
+
+    /**
+     * Returns the hit/miss statistics of the cache holding the results of {@link
+     * #getConversionMultiplier(Unit)}.
+     *
+     * @return the statistics
+     */
+    public static CacheStatistics getConversionMultiplierCacheStatistics() {
+        return conversionMultiplierCache.getStatistics();
+    }
+
+    static boolean isOffsetIgnored(QuantityKind quantityKind) {
+        return quantityKind != null
+                && quantityKind.getIriLocalname().equals(TEMPERATURE_DIFFERENCE);
+    }
+
+    void checkConvertible(Unit toUnit) throws InconvertibleQuantitiesException {
         if (!isConvertible(toUnit)) {
             throw new InconvertibleQuantitiesException(
                     String.format(
                             "Cannot convert from %s to %s: dimension vectors differ",
                             this.getIri(), toUnit.getIri()));
         }
-        BigDecimal fromOffset =
-                ignoreOffset ? BigDecimal.ZERO : this.getConversionOffset().orElse(BigDecimal.ZERO);
-        BigDecimal fromMultiplier = this.getConversionMultiplier().orElse(BigDecimal.ONE);
-        BigDecimal toOffset =
-                ignoreOffset
-                        ? BigDecimal.ZERO
-                        : toUnit.getConversionOffset().orElse(BigDecimal.ZERO);
-        BigDecimal toMultiplier = toUnit.getConversionMultiplier().orElse(BigDecimal.ONE);
-        BigDecimal result =
-                value.add(fromOffset)
-                        .multiply(fromMultiplier, MathContext.DECIMAL128)
-                        .divide(toMultiplier, MathContext.DECIMAL128)
-                        .subtract(toOffset)
-                        .stripTrailingZeros();
-        if (result.scale() < 0) {
-            result = result.setScale(0);
-        }
-        return result;
     }
 
     /**
@@ -449,6 +549,11 @@ public class Unit extends SelfSmuggler {
         if (this.equals(toUnit)) {
             return BigDecimal.ONE;
         }
+        return conversionMultiplierCache.get(
+                this, toUnit, null, () -> computeConversionMultiplier(toUnit));
+    }
+
+    private BigDecimal computeConversionMultiplier(Unit toUnit) {
         if (this.conversionOffsetDiffers(toUnit)) {
             throw new IllegalArgumentException(
                     String.format(
@@ -501,14 +606,24 @@ public class Unit extends SelfSmuggler {
                 && this.conversionOffset.compareTo(BigDecimal.ZERO) != 0;
     }
 
+    /**
+     * Indicates whether values can be converted from this unit to <code>toUnit</code>, i.e. whether
+     * the units have the same dimension vector. Once the dimension vectors are known, this is a
+     * comparison of their {@link DimensionVector#getPackedValue() packed values}.
+     *
+     * @param toUnit the unit to convert to
+     * @return true if the units are convertible
+     */
     public boolean isConvertible(Unit toUnit) {
-        if (toUnit == null
-                || toUnit.getDimensionVectorIri() == null
-                || this.getDimensionVectorIri() == null) {
+        if (toUnit == null) {
             return false;
         }
-
-        return this.getDimensionVectorIri().equals(toUnit.getDimensionVectorIri());
+        DimensionVector fromDimensionVector = this.dimensionVectorOrNull();
+        DimensionVector toDimensionVector = toUnit.dimensionVectorOrNull();
+        if (fromDimensionVector == null || toDimensionVector == null) {
+            return fromDimensionVector == toDimensionVector;
+        }
+        return fromDimensionVector.equals(toDimensionVector);
     }
 
     public boolean matches(Collection<Map.Entry<String, Integer>> factorUnitSpec) {
@@ -609,29 +724,51 @@ public class Unit extends SelfSmuggler {
         return result;
     }
 
+    /**
+     * Returns the dense id assigned to the unit when the model was initialized (see {@link
+     * io.github.qudtlib.init.Initializer.Definitions#assignIds()}), or -1 if it has none, for
+     * example because it was created at runtime.
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getIri() {
         return iri;
     }
 
     public Optional<DimensionVector> getDimensionVector() {
-        if (this.dimensionVector != null) {
-            return Optional.of(this.dimensionVector);
+        Optional<DimensionVector> result = this.dimensionVector;
+        if (result != null) {
+            return result;
+        }
+        synchronized (dimensionVectorLock) {
+            result = this.dimensionVector;
+            if (result == null) {
+                result = Optional.ofNullable(computeDimensionVector());
+                this.dimensionVector = result;
+            }
+            return result;
         }
+    }
 
+    private DimensionVector dimensionVectorOrNull() {
+        return getDimensionVector().orElse(null);
+    }
+
+    private DimensionVector computeDimensionVector() {
         if (this.factorUnits != null && this.factorUnits.hasFactorUnits()) {
-            this.dimensionVector = this.factorUnits.getDimensionVector();
-            return Optional.of(this.dimensionVector);
+            return this.factorUnits.getDimensionVector();
         }
-
-        if (this.quantityKinds != null) {
-            return this.quantityKinds.stream()
-                    .map(QuantityKind::getDimensionVector)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .findFirst();
+        if (this.quantityKinds == null) {
+            return null;
         }
-
-        return Optional.empty();
+        return this.quantityKinds.stream()
+                .map(QuantityKind::getDimensionVector)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst()
+                .orElse(null);
     }
 
     public Optional<String> getDimensionVectorIri() {
@@ -720,6 +857,12 @@ public class Unit extends SelfSmuggler {
 
     void addQuantityKind(QuantityKind quantityKind) {
         this.quantityKinds.add(quantityKind);
+        synchronized (dimensionVectorLock) {
+            // the dimension vector may be taken from the new quantity kind
+            if (this.dimensionVector != null && this.dimensionVector.isEmpty()) {
+                this.dimensionVector = null;
+            }
+        }
     }
 
     public FactorUnits getFactorUnits() {
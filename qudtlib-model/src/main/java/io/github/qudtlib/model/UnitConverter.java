@@ -0,0 +1,260 @@
+package io.github.qudtlib.model;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Converts values from one {@link Unit} into another. All checks and lookups are done once when the
+ * converter is created, and the conversion offsets and multipliers of both units are folded into a
+ * single affine transformation, {@code result = value * multiplier + offset}.
+ *
+ * <p>Instances are immutable and can be shared between threads. Obtain one via {@link
+ * Unit#getConverter(Unit)} or {@link Unit#getConverter(Unit, QuantityKind)}.
+ *
+ * <p>Note: as the multipliers and offsets are combined before the value is known, the result may
+ * differ from {@link Unit#convert(BigDecimal, Unit, QuantityKind)} in the last digit of {@link
+ * MathContext#DECIMAL128} precision.
+ */
+public final class UnitConverter {
+    private final Unit fromUnit;
+    private final Unit toUnit;
+    private final QuantityKind quantityKind;
+    private final boolean identity;
+    private final BigDecimal multiplier;
+    private final BigDecimal offset;
+    private final double multiplierDouble;
+    private final double offsetDouble;
+    // the individual conversion parameters of both units, for convertStepwise()
+    private final BigDecimal fromOffset;
+    private final BigDecimal fromMultiplier;
+    private final BigDecimal toMultiplier;
+    private final BigDecimal toOffset;
+
+    UnitConverter(Unit fromUnit, Unit toUnit, QuantityKind quantityKind)
+            throws InconvertibleQuantitiesException {
+        Objects.requireNonNull(fromUnit);
+        Objects.requireNonNull(toUnit);
+        this.fromUnit = fromUnit;
+        this.toUnit = toUnit;
+        this.quantityKind = quantityKind;
+        if (fromUnit.equals(toUnit) || Unit.isUnitless(fromUnit) || Unit.isUnitless(toUnit)) {
+            this.identity = true;
+            this.multiplier = BigDecimal.ONE;
+            this.offset = BigDecimal.ZERO;
+            this.multiplierDouble = 1.0;
+            this.offsetDouble = 0.0;
+            this.fromOffset = BigDecimal.ZERO;
+            this.fromMultiplier = BigDecimal.ONE;
+            this.toMultiplier = BigDecimal.ONE;
+            this.toOffset = BigDecimal.ZERO;
+            return;
+        }
+        fromUnit.checkConvertible(toUnit);
+        boolean ignoreOffset = Unit.isOffsetIgnored(quantityKind);
+        this.fromOffset =
+                ignoreOffset
+                        ? BigDecimal.ZERO
+                        : fromUnit.getConversionOffset().orElse(BigDecimal.ZERO);
+        this.toOffset =
+                ignoreOffset
+                        ? BigDecimal.ZERO
+                        : toUnit.getConversionOffset().orElse(BigDecimal.ZERO);
+        this.fromMultiplier = fromUnit.getConversionMultiplier().orElse(BigDecimal.ONE);
+        this.toMultiplier = toUnit.getConversionMultiplier().orElse(BigDecimal.ONE);
+        // (value + fromOffset) * fromMultiplier / toMultiplier - toOffset
+        //    = value * (fromMultiplier / toMultiplier)
+        //          + (fromOffset * fromMultiplier / toMultiplier - toOffset)
+        this.multiplier = fromMultiplier.divide(toMultiplier, MathContext.DECIMAL128);
+        this.offset =
+                fromOffset
+                        .multiply(fromMultiplier, MathContext.DECIMAL128)
+                        .divide(toMultiplier, MathContext.DECIMAL128)
+                        .subtract(toOffset, MathContext.DECIMAL128);
+        this.multiplierDouble = this.multiplier.doubleValue();
+        this.offsetDouble = this.offset.doubleValue();
+        this.identity = false;
+    }
+
+    /**
+     * Converts the specified <code>value</code>, interpreted to be in this converter's from-unit,
+     * into its to-unit.
+     *
+     * @param value the value to convert
+     * @return the converted value
+     */
+    public BigDecimal convert(BigDecimal value) {
+        Objects.requireNonNull(value);
+        if (identity) {
+            return value;
+        }
+        BigDecimal result = value.multiply(multiplier, MathContext.DECIMAL128);
+        if (offset.signum() != 0) {
+            result = result.add(offset, MathContext.DECIMAL128);
+        }
+        result = result.stripTrailingZeros();
+        if (result.scale() < 0) {
+            result = result.setScale(0);
+        }
+        return result;
+    }
+
+    /**
+     * Converts the specified <code>value</code> applying the conversion parameters of both units
+     * one after the other, i.e. {@code (value + fromOffset) * fromMultiplier / toMultiplier -
+     * toOffset}. This is the order of operations of {@link Unit#convert(BigDecimal, Unit,
+     * QuantityKind)}.
+     */
+    BigDecimal convertStepwise(BigDecimal value) {
+        if (identity) {
+            return value;
+        }
+        BigDecimal result =
+                value.add(fromOffset)
+                        .multiply(fromMultiplier, MathContext.DECIMAL128)
+                        .divide(toMultiplier, MathContext.DECIMAL128)
+                        .subtract(toOffset)
+                        .stripTrailingZeros();
+        if (result.scale() < 0) {
+            result = result.setScale(0);
+        }
+        return result;
+    }
+
+    /**
+     * Converts the specified <code>value</code>, interpreted to be in this converter's from-unit,
+     * into a {@link QuantityValue} in its to-unit.
+     *
+     * @param value the value to convert
+     * @return the converted quantity value
+     */
+    public QuantityValue convertToQuantityValue(BigDecimal value) {
+        return new QuantityValue(convert(value), toUnit);
+    }
+
+    /**
+     * Converts the specified <code>value</code> using double precision arithmetic. The multiplier
+     * and offset are rounded to the nearest <code>double</code> once, so the absolute error
+     * relative to {@link #convert(BigDecimal)} is at most {@code 2u * |value * multiplier| + u *
+     * (|offset| + |result|)}, with {@code u = 2^-53} (about 1.1e-16). Without offset, this is a
+     * relative error of at most {@code 2u}.
+     *
+     * @param value the value to convert
+     * @return the converted value
+     */
+    public double convert(double value) {
+        if (identity) {
+            return value;
+        }
+        return value * multiplierDouble + offsetDouble;
+    }
+
+    /**
+     * Converts the specified <code>value</code> into a {@link DoubleQuantityValue} in this
+     * converter's to-unit, using double precision arithmetic (see {@link #convert(double)}).
+     *
+     * @param value the value to convert
+     * @return the converted quantity value
+     */
+    public DoubleQuantityValue convertToDoubleQuantityValue(double value) {
+        return new DoubleQuantityValue(convert(value), toUnit);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>srcOffset</code>,
+     * and writes the results into <code>dst</code>, starting at <code>dstOffset</code>, using
+     * double precision arithmetic (see {@link #convert(double)}). The source and destination array
+     * may be the same if the offsets are equal.
+     *
+     * @param src the values to convert
+     * @param srcOffset the index of the first value to convert
+     * @param dst the array receiving the converted values
+     * @param dstOffset the index in <code>dst</code> of the first converted value
+     * @param length the number of values to convert
+     * @throws IndexOutOfBoundsException if a range exceeds the bounds of its array
+     */
+    public void convert(double[] src, int srcOffset, double[] dst, int dstOffset, int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        if (identity) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            return;
+        }
+        double m = multiplierDouble;
+        double o = offsetDouble;
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * m + o;
+        }
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>srcOffset</code>,
+     * and writes the results into <code>dst</code>, starting at <code>dstOffset</code> (see {@link
+     * #convert(BigDecimal)}). The source and destination array may be the same if the offsets are
+     * equal.
+     *
+     * @param src the values to convert
+     * @param srcOffset the index of the first value to convert
+     * @param dst the array receiving the converted values
+     * @param dstOffset the index in <code>dst</code> of the first converted value
+     * @param length the number of values to convert
+     * @throws IndexOutOfBoundsException if a range exceeds the bounds of its array
+     */
+    public void convert(
+            BigDecimal[] src, int srcOffset, BigDecimal[] dst, int dstOffset, int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = convert(src[srcOffset + i]);
+        }
+    }
+
+    public Unit getFromUnit() {
+        return fromUnit;
+    }
+
+    public Unit getToUnit() {
+        return toUnit;
+    }
+
+    public Optional<QuantityKind> getQuantityKind() {
+        return Optional.ofNullable(quantityKind);
+    }
+
+    /**
+     * Returns the factor the value is multiplied with, i.e. {@code multiplier} in {@code value *
+     * multiplier + offset}.
+     *
+     * @return the multiplier
+     */
+    public BigDecimal getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * Returns the summand added after multiplication, i.e. {@code offset} in {@code value *
+     * multiplier + offset}.
+     *
+     * @return the offset
+     */
+    public BigDecimal getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns true if this converter returns its input unchanged (same unit, or conversion from or
+     * to {@code unit:UNITLESS}).
+     *
+     * @return true if the conversion is the identity function
+     */
+    public boolean isIdentity() {
+        return identity;
+    }
+
+    @Override
+    public String toString() {
+        return "UnitConverter{" + fromUnit + " -> " + toUnit + '}';
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.qudtlib.model;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, thread-safe cache for values computed from a pair of units (and an optional
+ * discriminator, such as a quantity kind), like conversion factors or {@link UnitConverter}s. Units
+ * are compared by identity, so that a unit that is replaced by a new instance with the same IRI
+ * never sees values computed for the old instance. Entries are held in a {@link StripedLruCache}.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class UnitPairCache<V> {
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private final StripedLruCache<Key, V> cache;
+
+    public UnitPairCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maximumSize the maximum number of cached values: 0 to disable caching, or at least 16
+     */
+    public UnitPairCache(int maximumSize) {
+        this.cache = new StripedLruCache<>(maximumSize);
+    }
+
+    /**
+     * Returns the value cached for the specified key, computing and caching it if absent.
+     * Exceptions thrown by the computation are propagated, nothing is cached in that case.
+     *
+     * @param fromUnit the first unit of the key
+     * @param toUnit the second unit of the key
+     * @param discriminator optional further component of the key, may be null
+     * @param computation computes the value if it is not cached. Must not return null.
+     * @return the cached or computed value
+     */
+    public V get(Unit fromUnit, Unit toUnit, Object discriminator, Supplier<V> computation) {
+        return cache.get(new Key(fromUnit, toUnit, discriminator), computation);
+    }
+
+    /** Removes all entries. The statistics are not reset. */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumSize() {
+        return cache.getMaximumSize();
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    private static final class Key {
+        private final Unit fromUnit;
+        private final Unit toUnit;
+        private final Object discriminator;
+        private final int hashCode;
+
+        Key(Unit fromUnit, Unit toUnit, Object discriminator) {
+            this.fromUnit = Objects.requireNonNull(fromUnit);
+            this.toUnit = Objects.requireNonNull(toUnit);
+            this.discriminator = discriminator;
+            this.hashCode =
+                    31 * (31 * System.identityHashCode(fromUnit) + System.identityHashCode(toUnit))
+                            + Objects.hashCode(discriminator);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return fromUnit == key.fromUnit
+                    && toUnit == key.toUnit
+                    && Objects.equals(discriminator, key.discriminator);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.qudtlib.init;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.qudtlib.model.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModelSnapshotTests {
+    private static final String UNIT = "http://qudt.org/vocab/unit/";
+    private static final String QK = "http://qudt.org/vocab/quantitykind/";
+    private static final String SI = "http://qudt.org/vocab/sou/SI";
+    private static final String LENGTH_DIMENSION_VECTOR =
+            "http://qudt.org/vocab/dimensionvector/A0E0L1I0M0H0T0D0";
+
+    private static Initializer.Definitions definitions() {
+        Initializer.Definitions d = new Initializer.Definitions();
+        d.addPrefixDefinition(
+                Prefix.definition("http://qudt.org/vocab/prefix/Kilo")
+                        .multiplier(new BigDecimal("1000"))
+                        .symbol("k")
+                        .ucumCode("k")
+                        .addLabel(new LangString("Kilo", "en")));
+        d.addSystemOfUnitsDefinition(
+                SystemOfUnits.definition(SI)
+                        .abbreviation("SI")
+                        .addLabel(new LangString("International System of Units", "en"))
+                        .addBaseUnit(d.expectUnitDefinition(UNIT + "M")));
+        d.addQuantityKindDefinition(
+                QuantityKind.definition(QK + "Length")
+                        .dimensionVectorIri(LENGTH_DIMENSION_VECTOR)
+                        .addLabel("Length", "en")
+                        .addApplicableUnit(d.expectUnitDefinition(UNIT + "M"))
+                        .addApplicableUnit(d.expectUnitDefinition(UNIT + "KiloM")));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "M")
+                        .symbol("m")
+                        .ucumCode("m")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(LENGTH_DIMENSION_VECTOR)
+                        .addLabel("Metre", "en-GB")
+                        .addLabel("Meter", "en-US")
+                        .addQuantityKind(d.expectQuantityKindDefinition(QK + "Length"))
+                        .addSystemOfUnits(d.expectSystemOfUnitsDefinition(SI)));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "KiloM")
+                        .symbol("km")
+                        .conversionMultiplier(new BigDecimal("1000.0"))
+                        .dimensionVectorIri(LENGTH_DIMENSION_VECTOR)
+                        .prefix(d.expectPrefixDefinition("http://qudt.org/vocab/prefix/Kilo"))
+                        .scalingOf(d.expectUnitDefinition(UNIT + "M"))
+                        .addQuantityKind(d.expectQuantityKindDefinition(QK + "Length"))
+                        .addSystemOfUnits(d.expectSystemOfUnitsDefinition(SI)));
+        return d;
+    }
+
+    private static byte[] write(Initializer.Definitions d) throws IOException {
+        Initializer initializer = () -> d;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ModelSnapshotWriter(
+                        initializer.buildPrefixes(d).values(),
+                        initializer.buildSystemsOfUnits(d).values(),
+                        initializer.buildQuantityKinds(d).values(),
+                        initializer.buildUnits(d).values(),
+                        initializer.buildConstantValues(d).values(),
+                        initializer.buildPhysicalConstants(d).values())
+                .write(out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        byte[] snapshot = write(definitions());
+        Initializer.Definitions read = ModelSnapshotReader.read(ByteBuffer.wrap(snapshot));
+        Initializer initializer = () -> read;
+        Map<String, Unit> units = initializer.buildUnits(read);
+        assertThat(units).containsOnlyKeys(UNIT + "M", UNIT + "KiloM");
+        Unit kiloMetre = units.get(UNIT + "KiloM");
+        assertThat(kiloMetre.getSymbol()).contains("km");
+        assertThat(kiloMetre.getConversionMultiplier()).contains(new BigDecimal("1000.0"));
+        assertThat(kiloMetre.getPrefix().map(Prefix::getSymbol)).contains("k");
+        assertThat(kiloMetre.getScalingOf()).containsSame(units.get(UNIT + "M"));
+        assertThat(units.get(UNIT + "M").getLabels())
+                .containsExactlyInAnyOrder(
+                        new LangString("Metre", "en-GB"), new LangString("Meter", "en-US"));
+        QuantityKind length = initializer.buildQuantityKinds(read).get(QK + "Length");
+        assertThat(length.getApplicableUnits()).containsExactlyInAnyOrderElementsOf(units.values());
+        SystemOfUnits si = initializer.buildSystemsOfUnits(read).get(SI);
+        assertThat(si.getBaseUnits()).containsExactly(units.get(UNIT + "M"));
+        assertThat(units.get(UNIT + "M").getId()).isEqualTo(1);
+        assertThat(kiloMetre.getId()).isEqualTo(0);
+    }
+
+    @Test
+    void testRewriteIsStable() throws IOException {
+        byte[] snapshot = write(definitions());
+        assertThat(write(ModelSnapshotReader.read(ByteBuffer.wrap(snapshot)))).isEqualTo(snapshot);
+    }
+
+    @Test
+    void testReadMappedFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("model.snapshot");
+        Files.write(file, write(definitions()));
+        Initializer.Definitions read = ModelSnapshotReader.read(file);
+        assertThat(read.getUnitDefinition(UNIT + "KiloM")).isPresent();
+        assertThat(read.getPrefixDefinition("http://qudt.org/vocab/prefix/Kilo")).isPresent();
+    }
+
+    @Test
+    void testRejectsUnknownFormat() {
+        assertThatThrownBy(() -> ModelSnapshotReader.read(ByteBuffer.wrap(new byte[] {1, 2, 3})))
+                .isInstanceOf(IllegalArgumentException.class);
+        ByteBuffer wrongVersion = ByteBuffer.allocate(8);
+        wrongVersion.putInt(ModelSnapshotWriter.MAGIC).putInt(ModelSnapshotWriter.VERSION + 1);
+        wrongVersion.flip();
+        assertThatThrownBy(() -> ModelSnapshotReader.read(wrongVersion))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.qudtlib.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class DimensionVectorTests {
+
+    private static final String FORCE_IRI =
+            "http://qudt.org/vocab/dimensionvector/A0E0L1I0M1H0T-2D0";
+
+    @Test
+    void testPackedValueOfParsedAndComputedVectorsIsEqual() {
+        DimensionVector parsed = DimensionVector.ofRequired(FORCE_IRI);
+        DimensionVector computed =
+                DimensionVector.builder().length(1).mass(1).time(-2).build().multiply(1);
+        assertThat(parsed.getPackedValue()).isNotEqualTo(DimensionVector.NOT_PACKABLE);
+        assertThat(parsed.getPackedValue()).isEqualTo(computed.getPackedValue());
+        assertThat(parsed).isEqualTo(computed);
+        assertThat(parsed.hashCode()).isEqualTo(computed.hashCode());
+    }
+
+    @Test
+    void testPackedValueDistinguishesVectors() {
+        DimensionVector length = DimensionVector.builder().length(1).build();
+        DimensionVector time = DimensionVector.builder().time(1).build();
+        DimensionVector inverseLength = DimensionVector.builder().length(-1).build();
+        assertThat(length.getPackedValue()).isNotEqualTo(time.getPackedValue());
+        assertThat(length.getPackedValue()).isNotEqualTo(inverseLength.getPackedValue());
+        assertThat(length).isNotEqualTo(inverseLength);
+        assertThat(DimensionVector.DIMENSIONLESS.getPackedValue())
+                .isNotEqualTo(new DimensionVector().getPackedValue());
+    }
+
+    @Test
+    void testFractionalExponents() {
+        DimensionVector parsed =
+                DimensionVector.ofRequired(
+                        "http://qudt.org/vocab/dimensionvector/A0E0L0dot5I0M0H0T-1D0");
+        DimensionVector built = DimensionVector.builder().length(0.5f).time(-1).build();
+        assertThat(parsed.getPackedValue()).isNotEqualTo(DimensionVector.NOT_PACKABLE);
+        assertThat(parsed).isEqualTo(built);
+    }
+
+    @Test
+    void testNotPackable() {
+        DimensionVector third = DimensionVector.builder().length(1f / 3).build();
+        DimensionVector huge = DimensionVector.builder().length(100).build();
+        assertThat(third.getPackedValue()).isEqualTo(DimensionVector.NOT_PACKABLE);
+        assertThat(huge.getPackedValue()).isEqualTo(DimensionVector.NOT_PACKABLE);
+        assertThat(huge).isEqualTo(DimensionVector.builder().length(100).build());
+        assertThat(huge).isNotEqualTo(DimensionVector.builder().length(99).build());
+    }
+
+    @Test
+    void testOfIsInterned() {
+        assertThat(DimensionVector.ofRequired(FORCE_IRI))
+                .isSameAs(DimensionVector.ofRequired(FORCE_IRI));
+        DimensionVector force = DimensionVector.ofRequired(FORCE_IRI);
+        assertThat(force.multiply(2)).isSameAs(force.combine(force));
+    }
+
+    @Test
+    void testParse() {
+        DimensionVector dv =
+                DimensionVector.ofRequired(
+                        "http://qudt.org/vocab/dimensionvector/A-1E2L-1pt5I0M10H0T0dot25D0");
+        assertThat(dv.getValues()).containsExactly(-1f, 2f, -1.5f, 0f, 10f, 0f, 0.25f, 0f);
+        assertThat(DimensionVector.of("http://qudt.org/vocab/dimensionvector/E0A0L0I0M0H0T0D1"))
+                .isEmpty();
+    }
+
+    @Test
+    void testCombineAndMultiply() {
+        DimensionVector force = DimensionVector.ofRequired(FORCE_IRI);
+        DimensionVector length = DimensionVector.builder().length(1).build();
+        assertThat(force.combine(length).getDimensionVectorIri())
+                .isEqualTo("http://qudt.org/vocab/dimensionvector/A0E0L2I0M1H0T-2D0");
+        assertThat(force.multiply(0.5f).getDimensionVectorIri())
+                .isEqualTo("http://qudt.org/vocab/dimensionvector/A0E0L0dot5I0M0dot5H0T-1D0");
+        assertThat(force.combine(force.multiply(-1))).isEqualTo(DimensionVector.DIMENSIONLESS);
+        assertThat(force.combine(force.multiply(-1)).isDimensionless()).isTrue();
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.qudtlib.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DoubleQuantityValueTests {
+
+    private Unit meter;
+    private Unit centimeter;
+    private Unit kilogram;
+    private DoubleQuantityValue twoMeters;
+
+    @BeforeEach
+    void setUp() {
+        DimensionVector dvLength = DimensionVector.builder().length(1).build();
+        DimensionVector dvMass = DimensionVector.builder().mass(1).build();
+        meter =
+                Unit.definition("Meter")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .symbol("m")
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .build();
+        centimeter =
+                Unit.definition("CentiMeter")
+                        .conversionMultiplier(new BigDecimal("0.01"))
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .scalingOf(meter)
+                        .symbol("cm")
+                        .build();
+        kilogram =
+                Unit.definition("KiloGram")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvMass.getDimensionVectorIri())
+                        .symbol("kg")
+                        .build();
+        twoMeters = DoubleQuantityValue.of(2, meter);
+    }
+
+    @Test
+    void testConstructorAndGetters() {
+        DoubleQuantityValue qv = new DoubleQuantityValue(10, meter);
+        assertThat(qv.getValue()).isEqualTo(10.0);
+        assertThat(qv.getUnit()).isEqualTo(meter);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        DoubleQuantityValue qv1 = new DoubleQuantityValue(10, meter);
+        DoubleQuantityValue qv2 = new DoubleQuantityValue(10, meter);
+        DoubleQuantityValue qv3 = new DoubleQuantityValue(1, meter);
+        assertThat(qv1).isEqualTo(qv2);
+        assertThat(qv1.hashCode()).isEqualTo(qv2.hashCode());
+        assertThat(qv1).isNotEqualTo(qv3);
+    }
+
+    @Test
+    void testConvert() throws InconvertibleQuantitiesException {
+        DoubleQuantityValue converted = twoMeters.convert(centimeter);
+        assertThat(converted.getValue()).isCloseTo(200.0, within(1e-12));
+        assertThat(converted.getUnit()).isEqualTo(centimeter);
+    }
+
+    @Test
+    void testConvertMatchesBigDecimalPath() throws InconvertibleQuantitiesException {
+        double value = 1234.5678;
+        double converted = centimeter.convert(value, meter);
+        BigDecimal expected = centimeter.convert(new BigDecimal(value), meter);
+        assertThat(converted).isCloseTo(expected.doubleValue(), within(4 * Math.ulp(converted)));
+    }
+
+    @Test
+    void testConvertInconvertibleThrowsException() {
+        assertThatThrownBy(() -> twoMeters.convert(kilogram))
+                .isInstanceOf(InconvertibleQuantitiesException.class);
+    }
+
+    @Test
+    void testToQuantityValue() {
+        QuantityValue qv = DoubleQuantityValue.of(2.5, meter).toQuantityValue();
+        assertThat(qv.getValue()).isEqualByComparingTo(new BigDecimal("2.5"));
+        assertThat(qv.getUnit()).isEqualTo(meter);
+        assertThat(DoubleQuantityValue.of(qv)).isEqualTo(DoubleQuantityValue.of(2.5, meter));
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.qudtlib.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazyDerivationConcurrencyTests {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    private final DimensionVector dvVelocity =
+            DimensionVector.builder().length(1).time(-1).build();
+    private CountingUnit meter;
+    private CountingUnit second;
+    private ExecutorService executor;
+
+    /**
+     * A unit that counts how often its dimension vector and its normalized form are requested,
+     * which happens once per computation of the dimension vector or normalized form of units and
+     * factor units derived from it.
+     */
+    private static final class CountingUnit extends Unit {
+        private final AtomicInteger dimensionVectorRequests = new AtomicInteger();
+        private final AtomicInteger normalizeRequests = new AtomicInteger();
+
+        CountingUnit(Definition definition) {
+            super(definition);
+        }
+
+        @Override
+        public Optional<DimensionVector> getDimensionVector() {
+            dimensionVectorRequests.incrementAndGet();
+            return super.getDimensionVector();
+        }
+
+        @Override
+        public FactorUnits normalize() {
+            normalizeRequests.incrementAndGet();
+            return super.normalize();
+        }
+
+        void resetCounts() {
+            dimensionVectorRequests.set(0);
+            normalizeRequests.set(0);
+        }
+    }
+
+    /** A quantity kind that has no dimension vector and counts how often it is asked for one. */
+    private static final class CountingQuantityKind extends QuantityKind {
+        private final AtomicInteger dimensionVectorRequests = new AtomicInteger();
+
+        CountingQuantityKind(Definition definition) {
+            super(definition);
+        }
+
+        @Override
+        public Optional<DimensionVector> getDimensionVector() {
+            dimensionVectorRequests.incrementAndGet();
+            return Optional.empty();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meter =
+                new CountingUnit(
+                        Unit.definition("Meter")
+                                .conversionMultiplier(BigDecimal.ONE)
+                                .dimensionVectorIri(
+                                        DimensionVector.builder()
+                                                .length(1)
+                                                .build()
+                                                .getDimensionVectorIri()));
+        second =
+                new CountingUnit(
+                        Unit.definition("Second")
+                                .conversionMultiplier(BigDecimal.ONE)
+                                .dimensionVectorIri(
+                                        DimensionVector.builder()
+                                                .time(1)
+                                                .build()
+                                                .getDimensionVectorIri()));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private FactorUnits meterPerSecond() {
+        return new FactorUnits(List.of(new FactorUnit(meter, 1), new FactorUnit(second, -1)));
+    }
+
+    /**
+     * Creates a fresh object per round and lets all threads derive a value from it at the same
+     * time. Returns the values seen by the threads, one list per round.
+     */
+    private <T, R> List<List<R>> deriveConcurrently(Supplier<T> fresh, Function<T, R> derivation)
+            throws Exception {
+        List<List<R>> results = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            T target = fresh.get();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<R>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    start.await();
+                                    return derivation.apply(target);
+                                }));
+            }
+            start.countDown();
+            List<R> roundResults = new ArrayList<>();
+            for (Future<R> future : futures) {
+                roundResults.add(future.get(10, TimeUnit.SECONDS));
+            }
+            results.add(roundResults);
+        }
+        return results;
+    }
+
+    @Test
+    void testNormalizeIsComputedOnce() throws Exception {
+        FactorUnits expected = meterPerSecond().normalize();
+        meter.resetCounts();
+        for (List<FactorUnits> round :
+                deriveConcurrently(this::meterPerSecond, FactorUnits::normalize)) {
+            assertThat(round)
+                    .allSatisfy(normalized -> assertThat(normalized).isSameAs(round.get(0)));
+            assertThat(round.get(0)).isEqualTo(expected);
+        }
+        assertThat(meter.normalizeRequests.get()).isEqualTo(ROUNDS);
+    }
+
+    @Test
+    void testFactorUnitsDimensionVectorIsComputedOnce() throws Exception {
+        for (List<DimensionVector> round :
+                deriveConcurrently(this::meterPerSecond, FactorUnits::getDimensionVector)) {
+            assertThat(round).allSatisfy(dv -> assertThat(dv).isEqualTo(dvVelocity));
+        }
+        assertThat(meter.dimensionVectorRequests.get()).isEqualTo(ROUNDS);
+    }
+
+    @Test
+    void testUnitDimensionVectorIsComputedOnce() throws Exception {
+        Supplier<Unit> fresh =
+                () ->
+                        Unit.definition("MeterPerSecond")
+                                .conversionMultiplier(BigDecimal.ONE)
+                                .setFactorUnits(meterPerSecond())
+                                .build();
+        for (List<DimensionVector> round :
+                deriveConcurrently(fresh, unit -> unit.getDimensionVector().orElseThrow())) {
+            assertThat(round).allSatisfy(dv -> assertThat(dv).isEqualTo(dvVelocity));
+        }
+        assertThat(meter.dimensionVectorRequests.get()).isEqualTo(ROUNDS);
+    }
+
+    @Test
+    void testMissingUnitDimensionVectorIsComputedOnce() throws Exception {
+        CountingQuantityKind quantityKind =
+                new CountingQuantityKind(QuantityKind.definition("NoDimensionVector"));
+        Supplier<Unit> fresh =
+                () ->
+                        Unit.definition("NoDimensionVector")
+                                .conversionMultiplier(BigDecimal.ONE)
+                                .addQuantityKind(quantityKind)
+                                .build();
+        for (List<Optional<DimensionVector>> round :
+                deriveConcurrently(fresh, Unit::getDimensionVector)) {
+            assertThat(round).allSatisfy(dv -> assertThat(dv).isEmpty());
+        }
+        assertThat(quantityKind.dimensionVectorRequests.get()).isEqualTo(ROUNDS);
+    }
+
+    @Test
+    void testAddingQuantityKindProvidesMissingDimensionVector() {
+        Unit unit = Unit.definition("MeterPerSecond").conversionMultiplier(BigDecimal.ONE).build();
+        assertThat(unit.getDimensionVector()).isEmpty();
+        unit.addQuantityKind(
+                QuantityKind.definition("Velocity")
+                        .dimensionVectorIri(dvVelocity.getDimensionVectorIri())
+                        .build());
+        assertThat(unit.getDimensionVector()).contains(dvVelocity);
+    }
+}
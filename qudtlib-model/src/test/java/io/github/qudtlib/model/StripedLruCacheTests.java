@@ -0,0 +1,46 @@
+package io.github.qudtlib.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StripedLruCacheTests {
+
+    @Test
+    void testGetIfPresentAndPutIfAbsent() {
+        StripedLruCache<String, String> cache = new StripedLruCache<>(16);
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.putIfAbsent("a", "first")).isEqualTo("first");
+        assertThat(cache.putIfAbsent("a", "second")).isEqualTo("first");
+        assertThat(cache.getIfPresent("a")).isEqualTo("first");
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        StripedLruCache<Integer, String> cache = new StripedLruCache<>(16);
+        // all keys that are multiples of 16 share a stripe, which holds a single entry
+        cache.putIfAbsent(0, "zero");
+        cache.putIfAbsent(16, "sixteen");
+        assertThat(cache.getIfPresent(0)).isNull();
+        assertThat(cache.getIfPresent(16)).isEqualTo("sixteen");
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testDisabledCache() {
+        StripedLruCache<String, String> cache = new StripedLruCache<>(0);
+        AtomicInteger count = new AtomicInteger();
+        cache.get("a", () -> "a" + count.incrementAndGet());
+        assertThat(cache.get("a", () -> "a" + count.incrementAndGet())).isEqualTo("a2");
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(2);
+        assertThatThrownBy(() -> new StripedLruCache<String, String>(8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.qudtlib.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UnitPairCacheTests {
+
+    private Unit meter;
+    private Unit centimeter;
+    private Unit kilogram;
+
+    @BeforeEach
+    void setUp() {
+        DimensionVector dvLength = DimensionVector.builder().length(1).build();
+        DimensionVector dvMass = DimensionVector.builder().mass(1).build();
+        meter =
+                Unit.definition("Meter")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .build();
+        centimeter =
+                Unit.definition("CentiMeter")
+                        .conversionMultiplier(new BigDecimal("0.01"))
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .build();
+        kilogram =
+                Unit.definition("KiloGram")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvMass.getDimensionVectorIri())
+                        .build();
+    }
+
+    @Test
+    void testHitsAndMisses() {
+        UnitPairCache<String> cache = new UnitPairCache<>();
+        AtomicInteger count = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            String value = cache.get(meter, centimeter, null, () -> "m" + count.incrementAndGet());
+            assertThat(value).isEqualTo("m1");
+        }
+        cache.get(centimeter, meter, null, () -> "cm->m");
+        CacheStatistics statistics = cache.getStatistics();
+        assertThat(count.get()).isEqualTo(1);
+        assertThat(statistics.getHitCount()).isEqualTo(9);
+        assertThat(statistics.getMissCount()).isEqualTo(2);
+        assertThat(statistics.getSize()).isEqualTo(2);
+        assertThat(statistics.getHitRate()).isEqualTo(9.0 / 11);
+    }
+
+    @Test
+    void testDiscriminator() {
+        UnitPairCache<String> cache = new UnitPairCache<>();
+        QuantityKind length = QuantityKind.definition("Length").build();
+        assertThat(cache.get(meter, centimeter, null, () -> "a")).isEqualTo("a");
+        assertThat(cache.get(meter, centimeter, length, () -> "b")).isEqualTo("b");
+        assertThat(cache.get(meter, centimeter, length, () -> "c")).isEqualTo("b");
+    }
+
+    @Test
+    void testUnitsAreComparedByIdentity() {
+        UnitPairCache<String> cache = new UnitPairCache<>();
+        Unit otherMeter = Unit.definition("Meter").conversionMultiplier(BigDecimal.TEN).build();
+        cache.get(meter, centimeter, null, () -> "old");
+        assertThat(cache.get(otherMeter, centimeter, null, () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        UnitPairCache<String> cache = new UnitPairCache<>(32);
+        List<Unit> units = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            units.add(Unit.definition("Unit" + i).build());
+        }
+        for (Unit from : units) {
+            for (Unit to : units) {
+                cache.get(from, to, null, () -> "x");
+            }
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+        assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(400 - cache.size());
+    }
+
+    @Test
+    void testExceptionsAreNotCached() {
+        assertThatThrownBy(() -> meter.getConverter(kilogram))
+                .isInstanceOf(InconvertibleQuantitiesException.class);
+        assertThatThrownBy(() -> meter.getConverter(kilogram))
+                .isInstanceOf(InconvertibleQuantitiesException.class);
+    }
+
+    @Test
+    void testConverterCache() {
+        long hitsBefore = Unit.getConverterCacheStatistics().getHitCount();
+        UnitConverter converter = meter.getConverter(centimeter);
+        assertThat(meter.getConverter(centimeter)).isSameAs(converter);
+        assertThat(meter.convert(new BigDecimal("2"), centimeter))
+                .isEqualByComparingTo(new BigDecimal("200"));
+        assertThat(Unit.getConverterCacheStatistics().getHitCount()).isGreaterThan(hitsBefore);
+        assertThat(meter.getConversionMultiplier(centimeter))
+                .isSameAs(meter.getConversionMultiplier(centimeter));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.qudtlib;
+
+import io.github.qudtlib.common.RdfOps;
+import io.github.qudtlib.init.ModelSnapshotWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates the binary model snapshot read by the <code>qudtlib-init-snapshot</code> initializer.
+ *
+ * <p>This generator uses a functioning QUDTLib implementation that instantiates all individuals
+ * from RDF (module <code>qudtlib-main-rdf</code>) and writes them with {@link ModelSnapshotWriter}.
+ */
+public class SnapshotGenerator {
+    private final Path outputDir;
+    // output
+    private static final String DESTINATION_DIR = "io/github/qudtlib/init";
+    private static final String FILENAME = "qudtlib-model.snapshot";
+
+    public SnapshotGenerator(Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length == 0) {
+                throw new IllegalArgumentException("missing argument");
+            }
+            if (args.length > 1) {
+                throw new IllegalArgumentException(" too many arguments");
+            }
+            String outputDir = args[0];
+            SnapshotGenerator generator = new SnapshotGenerator(Path.of(outputDir));
+            generator.generate();
+        } catch (Exception e) {
+            System.err.println("\n\n\tusage: SnapshotGenerator [output-dir]\n\n");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    public void generate() throws IOException {
+        RdfOps.message("Generating " + FILENAME);
+        Path destinationDir = outputDir.resolve(DESTINATION_DIR);
+        Files.createDirectories(destinationDir);
+        ModelSnapshotWriter writer =
+                new ModelSnapshotWriter(
+                        Qudt.getPrefixesMap().values(),
+                        Qudt.getSystemsOfUnitsMap().values(),
+                        Qudt.getQuantityKindsMap().values(),
+                        Qudt.getUnitsMap().values(),
+                        Qudt.getConstantValuesMap().values(),
+                        Qudt.getPhysicalConstantsMap().values());
+        try (OutputStream out =
+                new BufferedOutputStream(Files.newOutputStream(destinationDir.resolve(FILENAME)))) {
+            writer.write(out);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.number.BigDecimalCloseTo.closeTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.qudtlib.model.*;
@@ -294,6 +295,26 @@ public class FactorUnitsTests {
                                 "J-PER-PA-K-KiloGM")));
     }
 
+    @ParameterizedTest
+    @MethodSource("testGenerateAllLocalnamePossibilities")
+    public void testIsLocalnamePossibility(FactorUnits factorUnits, List<String> possibilities) {
+        for (String possibility : possibilities) {
+            assertTrue(factorUnits.isLocalnamePossibility(possibility), possibility);
+            assertFalse(factorUnits.isLocalnamePossibility(possibility + "-M"), possibility);
+            assertFalse(factorUnits.isLocalnamePossibility("PER-" + possibility), possibility);
+        }
+        assertFalse(factorUnits.isLocalnamePossibility(""));
+    }
+
+    @Test
+    public void testIsLocalnamePossibility_noDenominator() {
+        FactorUnits factorUnits = FactorUnits.ofFactorUnitSpec(N, 1, M, 1);
+        assertTrue(factorUnits.isLocalnamePossibility("N-M"));
+        assertTrue(factorUnits.isLocalnamePossibility("M-N"));
+        assertFalse(factorUnits.isLocalnamePossibility("N-M-PER-M"));
+        assertFalse(factorUnits.isLocalnamePossibility("N"));
+    }
+
     @ParameterizedTest
     @MethodSource
     public void testNumerator(FactorUnits factorUnits, FactorUnits expectedResult) {
@@ -0,0 +1,283 @@
+package io.github.qudtlib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.qudtlib.exception.NotFoundException;
+import io.github.qudtlib.init.Initializer;
+import io.github.qudtlib.model.*;
+import java.io.File;
+import java.math.BigDecimal;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class QudtContextTests {
+    private static final String UNIT = "http://qudt.org/vocab/unit/";
+    private static final String KILO = "http://qudt.org/vocab/prefix/Kilo";
+    private static final String LENGTH = "http://qudt.org/vocab/quantitykind/Length";
+    private static final String DIMENSION_VECTOR = "http://qudt.org/vocab/dimensionvector/";
+
+    private static QudtContext tinyContext() {
+        Initializer.Definitions d = new Initializer.Definitions();
+        d.addPrefixDefinition(
+                Prefix.definition(KILO)
+                        .multiplier(new BigDecimal("1000"))
+                        .symbol("k")
+                        .addLabel(new LangString("Kilo", "en")));
+        d.addQuantityKindDefinition(
+                QuantityKind.definition(LENGTH)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel(new LangString("Length", "en")));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "M")
+                        .symbol("m")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Metre", "en"));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "KiloM")
+                        .symbol("km")
+                        .conversionMultiplier(new BigDecimal("1000"))
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Kilometre", "en")
+                        .prefix(d.expectPrefixDefinition(KILO))
+                        .scalingOf(d.expectUnitDefinition(UNIT + "M")));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "SEC")
+                        .symbol("s")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L0I0M0H0T1D0")
+                        .addLabel("Second", "en"));
+        d.addUnitDefinition(
+                Unit.definition(UNIT + "M-PER-SEC")
+                        .symbol("m/s")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T-1D0")
+                        .addLabel("Metre per Second", "en")
+                        .setFactorUnits(
+                                FactorUnits.builder()
+                                        .factor(
+                                                FactorUnit.builder()
+                                                        .unit(d.expectUnitDefinition(UNIT + "M"))
+                                                        .exponent(1))
+                                        .factor(
+                                                FactorUnit.builder()
+                                                        .unit(d.expectUnitDefinition(UNIT + "SEC"))
+                                                        .exponent(-1))));
+        return new QudtContext(d);
+    }
+
+    @Test
+    public void testTinyContext() {
+        QudtContext context = tinyContext();
+        assertEquals(4, context.allUnits().size());
+        Unit metre = context.unitFromLocalnameRequired("M");
+        Unit kiloMetre = context.unitFromLocalnameRequired("KiloM");
+        Unit second = context.unitFromLocalnameRequired("SEC");
+        assertNotSame(Qudt.Units.KiloM, kiloMetre);
+        assertEquals(Set.of(kiloMetre), context.unitsBySymbol("km", false, false));
+        assertSame(kiloMetre, context.unitFromLabel("kilometre").get());
+        assertSame(kiloMetre, context.scale("Kilo", "Metre"));
+        assertSame(kiloMetre, context.scale(context.prefixRequired(KILO), metre));
+        assertEquals(
+                List.of(context.unitFromLocalnameRequired("M-PER-SEC")),
+                context.unitsFromUnitExponentPairs(
+                        DerivedUnitSearchMode.ALL, metre, 1, second, -1));
+        QuantityValue scaled =
+                context.bestScaledUnit(new QuantityValue(new BigDecimal(1500), metre));
+        assertSame(kiloMetre, scaled.getUnit());
+        assertEquals(0, new BigDecimal("1.5").compareTo(scaled.getValue()));
+        assertTrue(context.unitFromLocalname("N").isEmpty());
+    }
+
+    @Test
+    public void testFromLocalnameWithoutQudt() throws Exception {
+        // initializing Qudt would load the full model, so the context must not use it
+        try (URLClassLoader loader = classLoaderWithoutQudt()) {
+            Class<?> fromLocalnames = Class.forName(FromLocalnames.class.getName(), true, loader);
+            @SuppressWarnings("unchecked")
+            Supplier<List<String>> iris =
+                    (Supplier<List<String>>) fromLocalnames.getDeclaredConstructor().newInstance();
+            assertEquals(
+                    List.of(UNIT + "KiloM", UNIT + "M", LENGTH, LENGTH, KILO, KILO), iris.get());
+        }
+    }
+
+    public static class FromLocalnames implements Supplier<List<String>> {
+        @Override
+        public List<String> get() {
+            QudtContext context = tinyContext();
+            assertTrue(context.unitFromLocalname("N").isEmpty());
+            return List.of(
+                    context.unitFromLocalnameRequired("KiloM").getIri(),
+                    context.unitFromLocalname("M").get().getIri(),
+                    context.quantityKindFromLocalnameRequired("Length").getIri(),
+                    context.quantityKindFromLocalname("Length").get().getIri(),
+                    context.prefixFromLocalnameRequired("Kilo").getIri(),
+                    context.prefixFromLocalname("Kilo").get().getIri());
+        }
+    }
+
+    /** Returns a class loader that loads the class path anew, but fails to load {@link Qudt}. */
+    private static URLClassLoader classLoaderWithoutQudt() throws MalformedURLException {
+        String[] classPath = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[classPath.length];
+        for (int i = 0; i < classPath.length; i++) {
+            urls[i] = Path.of(classPath[i]).toUri().toURL();
+        }
+        return new URLClassLoader(urls, ClassLoader.getPlatformClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve)
+                    throws ClassNotFoundException {
+                if (name.equals(Qudt.class.getName())) {
+                    throw new ClassNotFoundException(name);
+                }
+                return super.loadClass(name, resolve);
+            }
+        };
+    }
+
+    @Test
+    public void testContextsAreIndependent() {
+        QudtContext context = tinyContext();
+        context.prewarmIndexes();
+        Unit smoot =
+                Unit.definition("http://example.com/unit/SMOOT")
+                        .symbol("smoot")
+                        .conversionMultiplier(new BigDecimal("1.7018"))
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Smoot", "en")
+                        .build();
+        context.addUnit(smoot);
+        assertEquals(Set.of(smoot), context.unitsBySymbol("smoot", false, false));
+        assertEquals(5, context.allUnits().size());
+        assertTrue(Qudt.unit(smoot.getIri()).isEmpty());
+        assertTrue(Qudt.unitsBySymbol("smoot", false, false).isEmpty());
+        assertTrue(tinyContext().unit(smoot.getIri()).isEmpty());
+    }
+
+    @Test
+    public void testAddUnits() {
+        QudtContext context = tinyContext();
+        context.prewarmIndexes();
+        List<Unit> smoots = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            smoots.add(
+                    Unit.definition("http://example.com/unit/SMOOT" + i)
+                            .symbol("smoot" + i)
+                            .conversionMultiplier(new BigDecimal("1.7018").scaleByPowerOfTen(i))
+                            .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                            .addLabel("Smoot " + i, "en")
+                            .build());
+        }
+        context.addUnits(smoots);
+        assertEquals(7, context.allUnits().size());
+        assertEquals(Set.copyOf(smoots), context.unitsBySymbol("smoot", true, false));
+        assertEquals(Set.of(smoots.get(1)), context.unitsBySymbol("SMOOT2", false, true));
+        Unit metre = context.unitFromLocalnameRequired("M");
+        Unit metrePerSecond = context.unitFromLocalnameRequired("M-PER-SEC");
+        assertEquals(Set.of(metre, metrePerSecond), context.unitsBySymbol("m", true, false));
+        assertSame(smoots.get(2), context.unitFromLabel("Smoot 3").get());
+    }
+
+    @Test
+    public void testReplacedUnitIsNotFoundById() {
+        QudtContext context = tinyContext();
+        Unit metre = context.unitFromLocalnameRequired("M");
+        int id = metre.getId();
+        assertSame(metre, context.unitById(id).get());
+        Unit replacement =
+                Unit.definition(metre.getIri())
+                        .symbol("m")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Metre", "en")
+                        .build();
+        context.addUnit(replacement);
+        assertSame(replacement, context.unit(metre.getIri()).get());
+        assertTrue(context.unitById(id).isEmpty());
+        assertEquals(4, context.allUnits().size());
+    }
+
+    @Test
+    public void testReplacedUnitIsNotFoundUnderItsKeys() {
+        QudtContext context = tinyContext();
+        context.prewarmIndexes();
+        Unit metre = context.unitFromLocalnameRequired("M");
+        Unit second = context.unitFromLocalnameRequired("SEC");
+        Unit metrePerSecond = context.unitFromLocalnameRequired("M-PER-SEC");
+        Unit replacement =
+                Unit.definition(metrePerSecond.getIri())
+                        .symbol("m.s")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T1D0")
+                        .addLabel("Metre Second", "en")
+                        .build();
+        context.addUnit(replacement);
+        assertTrue(context.unitsBySymbol("m/s", false, false).isEmpty());
+        assertTrue(context.unitsByLabel("Metre per Second", false, true).isEmpty());
+        assertTrue(context.unitFromLabel("Metre per Second").isEmpty());
+        assertEquals(
+                List.of(),
+                context.unitsFromUnitExponentPairs(
+                        DerivedUnitSearchMode.ALL, metre, 1, second, -1));
+        assertSame(replacement, context.unitsBySymbol("m.s", false, false).iterator().next());
+        assertSame(replacement, context.unitFromLabel("Metre Second").get());
+        for (Unit unit : context.unitsBySymbol("m", true, false)) {
+            assertNotSame(metrePerSecond, unit);
+        }
+    }
+
+    @Test
+    public void testReplacedScaledUnitIsNotFoundUnderItsKeys() {
+        QudtContext context = tinyContext();
+        context.prewarmIndexes();
+        Unit kiloMetre = context.unitFromLocalnameRequired("KiloM");
+        Unit metre =
+                Unit.definition(UNIT + "M")
+                        .symbol("m")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Metre", "en")
+                        .build();
+        context.addUnit(metre);
+        QuantityValue halfKiloMetre = new QuantityValue(new BigDecimal("0.5"), kiloMetre);
+        assertSame(metre, context.bestScaledUnit(halfKiloMetre).getUnit());
+        Unit replacement =
+                Unit.definition(kiloMetre.getIri())
+                        .symbol("klick")
+                        .conversionMultiplier(new BigDecimal("1000"))
+                        .dimensionVectorIri(DIMENSION_VECTOR + "A0E0L1I0M0H0T0D0")
+                        .addLabel("Klick", "en")
+                        .build();
+        context.addUnit(replacement);
+        Prefix kilo = context.prefixRequired(KILO);
+        assertThrows(NotFoundException.class, () -> context.scale(kilo, metre));
+        assertThrows(NotFoundException.class, () -> context.scale("Kilo", "Metre"));
+        QuantityValue metres = new QuantityValue(new BigDecimal(1500), metre);
+        assertSame(metre, context.bestScaledUnit(metres).getUnit());
+        assertTrue(context.unitsBySymbol("km", false, false).isEmpty());
+        assertSame(replacement, context.unitFromLabel("Klick").get());
+    }
+
+    @Test
+    public void testNoDefinitionsAddedAfterBuilding() {
+        Initializer.Definitions d = new Initializer.Definitions();
+        d.addUnitDefinition(Unit.definition(UNIT + "M").conversionMultiplier(BigDecimal.ONE));
+        new QudtContext(d);
+        Unit.Definition second = Unit.definition(UNIT + "SEC").conversionMultiplier(BigDecimal.ONE);
+        assertThrows(IllegalStateException.class, () -> d.addUnitDefinition(second));
+    }
+
+    @Test
+    public void testDefaultContext() {
+        assertSame(Qudt.Units.KiloM, Qudt.defaultContext().unit(Qudt.Units.KiloM.getIri()).get());
+        assertEquals(Qudt.allUnits().size(), Qudt.defaultContext().allUnits().size());
+    }
+}
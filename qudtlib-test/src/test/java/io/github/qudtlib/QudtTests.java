@@ -6,12 +6,20 @@ import static java.util.function.Predicate.not;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.github.qudtlib.algorithm.AssignmentProblem;
+import io.github.qudtlib.exception.IncompleteDataException;
 import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import io.github.qudtlib.init.Initializer;
 import io.github.qudtlib.model.*;
 import io.github.qudtlib.model.Unit.Definition;
+import io.github.qudtlib.support.parse.UnitParser;
 import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -103,6 +111,39 @@ public class QudtTests {
                         .contains(Qudt.Units.MOL__PER__M2__SEC));
     }
 
+    @Test
+    public void testUnitsFromFactorUnits_sameAsScan() {
+        for (Unit unit : Qudt.allUnits()) {
+            if (!unit.hasFactorUnits()) {
+                continue;
+            }
+            FactorUnits selection = unit.getFactorUnits();
+            DimensionVector dv;
+            try {
+                dv = selection.getDimensionVector();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            Set<Unit> scanned =
+                    Qudt.allUnits().stream()
+                            .filter(
+                                    u -> {
+                                        try {
+                                            return dv.equals(u.getDimensionVector().orElse(null));
+                                        } catch (IncompleteDataException e) {
+                                            return false;
+                                        }
+                                    })
+                            .filter(u -> u.matches(selection))
+                            .collect(Collectors.toSet());
+            Set<Unit> found =
+                    new HashSet<>(
+                            Qudt.unitsFromFactorUnits(
+                                    DerivedUnitSearchMode.ALL, selection.getFactorUnits()));
+            Assertions.assertEquals(scanned, found, "factor units of " + unit.getIriAbbreviated());
+        }
+    }
+
     @Test
     public void testUnitFromLabel() {
         Assertions.assertEquals(Qudt.Units.N, Qudt.unitFromLabelRequired("Newton"));
@@ -374,6 +415,304 @@ public class QudtTests {
         Assertions.assertEquals(Qudt.Units.N__PER__M, units.stream().findFirst().get());
     }
 
+    @Test
+    public void testEntitiesById() {
+        for (Unit unit : Qudt.allUnits()) {
+            assertSame(unit, Qudt.unitById(unit.getId()).get());
+        }
+        for (QuantityKind quantityKind : Qudt.allQuantityKinds()) {
+            assertSame(quantityKind, Qudt.quantityKindById(quantityKind.getId()).get());
+        }
+        for (Prefix prefix : Qudt.allPrefixes()) {
+            assertSame(prefix, Qudt.prefixById(prefix.getId()).get());
+        }
+        for (SystemOfUnits systemOfUnits : Qudt.allSystemsOfUnits()) {
+            assertSame(systemOfUnits, Qudt.systemOfUnitsById(systemOfUnits.getId()).get());
+        }
+        assertTrue(Qudt.unitById(-1).isEmpty());
+        assertTrue(Qudt.unitById(Qudt.allUnits().size()).isEmpty());
+    }
+
+    /* Loads the model into a new context, whose indexes have not been built yet. */
+    private static QudtContext newContext() throws Exception {
+        Initializer initializer =
+                (Initializer)
+                        Class.forName("io.github.qudtlib.init.InitializerImpl")
+                                .getConstructor()
+                                .newInstance();
+        return new QudtContext(initializer);
+    }
+
+    private static List<String> iris(Collection<Unit> units) {
+        return units.stream().map(Unit::getIri).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testIndexesOnConcurrentFirstUse() throws Exception {
+        QudtContext context = newContext();
+        assertFalse(context.isAnyIndexBuilt());
+        Unit metre = context.unitRequired(M.getIri());
+        Unit second = context.unitRequired(SEC.getIri());
+        Unit mile = context.unitRequired(MI.getIri());
+        SystemOfUnits si = context.systemOfUnitsRequired(Qudt.SystemsOfUnits.SI.getIri());
+        List<Callable<List<Object>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(
+                    () ->
+                            List.of(
+                                    iris(context.unitsBySymbol("km", false, false)),
+                                    context.unitFromLabel("Kilometer").map(Unit::getIri),
+                                    context.scale("Kilo", "Meter").getIri(),
+                                    iris(
+                                            context.unitsFromUnitExponentPairs(
+                                                    DerivedUnitSearchMode.ALL,
+                                                    metre,
+                                                    1,
+                                                    second,
+                                                    -1)),
+                                    iris(context.correspondingUnitsInSystem(mile, si))));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        List<Future<List<Object>>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<Object> expected =
+                List.of(
+                        iris(Qudt.unitsBySymbol("km", false, false)),
+                        Qudt.unitFromLabel("Kilometer").map(Unit::getIri),
+                        KiloM.getIri(),
+                        iris(
+                                Qudt.unitsFromUnitExponentPairs(
+                                        DerivedUnitSearchMode.ALL, M, 1, SEC, -1)),
+                        iris(Qudt.correspondingUnitsInSystem(MI, Qudt.SystemsOfUnits.SI)));
+        for (Future<List<Object>> result : results) {
+            assertEquals(expected, result.get());
+        }
+        assertTrue(((List<?>) expected.get(0)).contains(KiloM.getIri()));
+    }
+
+    @Test
+    public void testIndexesOnFirstUseFromParallelStream() throws Exception {
+        QudtContext context = newContext();
+        assertFalse(context.isAnyIndexBuilt());
+        Unit metre = context.unitRequired(M.getIri());
+        Unit second = context.unitRequired(SEC.getIri());
+        Unit kiloMetre = context.unitRequired(KiloM.getIri());
+        SystemOfUnits si = context.systemOfUnitsRequired(Qudt.SystemsOfUnits.SI.getIri());
+        List<Object> expected =
+                List.of(
+                        iris(
+                                Qudt.unitsFromUnitExponentPairs(
+                                        DerivedUnitSearchMode.ALL, M, 1, SEC, -1)),
+                        iris(Qudt.unitsBySymbol("km", false, false)),
+                        KiloM.getIri(),
+                        Qudt.isUnitOfSystem(KiloM, Qudt.SystemsOfUnits.SI));
+        // the indexes are built on common pool workers, which may run further elements of the
+        // stream, using the same indexes, while they wait for the parallel parts of a build
+        List<List<Object>> results =
+                IntStream.range(0, 256)
+                        .parallel()
+                        .mapToObj(
+                                i ->
+                                        List.<Object>of(
+                                                iris(
+                                                        context.unitsFromUnitExponentPairs(
+                                                                DerivedUnitSearchMode.ALL,
+                                                                metre,
+                                                                1,
+                                                                second,
+                                                                -1)),
+                                                iris(context.unitsBySymbol("km", false, false)),
+                                                context.scale("Kilo", "Meter").getIri(),
+                                                context.isUnitOfSystem(kiloMetre, si)))
+                        .collect(Collectors.toList());
+        for (List<Object> result : results) {
+            assertEquals(expected, result);
+        }
+        List<Unit> derived =
+                context.unitsFromUnitExponentPairs(DerivedUnitSearchMode.ALL, metre, 1, second, -1);
+        assertEquals(new HashSet<>(derived).size(), derived.size());
+    }
+
+    @Test
+    public void testAddUnitWhileReading() throws Exception {
+        QudtContext context = newContext();
+        context.prewarmIndexes();
+        Unit metre = context.unitRequired(M.getIri());
+        Unit second = context.unitRequired(SEC.getIri());
+        Unit hour = context.unitRequired(HR.getIri());
+        Unit kiloMetre = context.unitRequired(KiloM.getIri());
+        Unit newton = context.unitRequired(N.getIri());
+        Prefix kilo = context.prefixRequired(Qudt.Prefixes.Kilo.getIri());
+        SystemOfUnits si = context.systemOfUnitsRequired(Qudt.SystemsOfUnits.SI.getIri());
+        // units that are not in the model: a base unit, a scaling of it, and a derived unit
+        Unit stadion =
+                Unit.definition("http://example.com/unit/Stadion")
+                        .conversionMultiplier(new BigDecimal("185"))
+                        .dimensionVectorIri(metre.getDimensionVectorIri().orElseThrow())
+                        .symbol("stad")
+                        .addLabel("Stadion", "en")
+                        .addSystemOfUnits(si)
+                        .build();
+        Unit kiloStadion =
+                Unit.definition("http://example.com/unit/KiloStadion")
+                        .conversionMultiplier(new BigDecimal("185000"))
+                        .dimensionVectorIri(metre.getDimensionVectorIri().orElseThrow())
+                        .addLabel("Kilostadion", "en")
+                        .prefix(kilo)
+                        .scalingOf(stadion)
+                        .build();
+        Unit stadionPerHour =
+                Unit.definition("http://example.com/unit/Stadion-PER-HR")
+                        .conversionMultiplier(
+                                new BigDecimal("185")
+                                        .divide(new BigDecimal("3600"), MathContext.DECIMAL128))
+                        .dimensionVectorIri(
+                                context.unitRequired(M__PER__SEC.getIri())
+                                        .getDimensionVectorIri()
+                                        .orElseThrow())
+                        .addLabel("Stadion per hour", "en")
+                        .setFactorUnits(FactorUnits.builder().factor(stadion, 1).factor(hour, -1))
+                        .build();
+        List<Unit> unitsToAdd =
+                List.of(kiloMetre, metre, second, newton, stadion, kiloStadion, stadionPerHour);
+        List<Unit> expectedDerived =
+                context.unitsFromUnitExponentPairs(DerivedUnitSearchMode.ALL, metre, 1, second, -1);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            // re-adding the units of the model replaces each unit with itself in all indexes
+            tasks.add(
+                    () -> {
+                        for (int round = 0; round < 50; round++) {
+                            unitsToAdd.forEach(context::addUnit);
+                        }
+                        return true;
+                    });
+        }
+        for (int i = 0; i < 8; i++) {
+            tasks.add(
+                    () -> {
+                        boolean allFound = true;
+                        for (int round = 0; round < 200; round++) {
+                            allFound &=
+                                    context.unitsBySymbol("km", false, false).contains(kiloMetre);
+                            allFound &= context.unit(N.getIri()).orElse(null) == newton;
+                            allFound &= context.scale("Kilo", "Meter") == kiloMetre;
+                            allFound &=
+                                    expectedDerived.equals(
+                                            context.unitsFromUnitExponentPairs(
+                                                    DerivedUnitSearchMode.ALL,
+                                                    metre,
+                                                    1,
+                                                    second,
+                                                    -1));
+                        }
+                        return allFound;
+                    });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        List<Future<Boolean>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        assertEquals(
+                expectedDerived,
+                context.unitsFromUnitExponentPairs(
+                        DerivedUnitSearchMode.ALL, metre, 1, second, -1));
+        assertTrue(context.isUnitOfSystem(kiloMetre, si));
+        // the new units are found in all indexes
+        assertSame(stadion, context.unitRequired(stadion.getIri()));
+        assertEquals(Set.of(stadion), context.unitsBySymbol("stad", false, false));
+        assertSame(stadion, context.unitFromLabel("Stadion").orElseThrow());
+        assertSame(kiloStadion, context.scale("Kilo", "Stadion"));
+        assertSame(kiloStadion, context.scale(kilo, stadion));
+        assertTrue(
+                context.unitsFromUnitExponentPairs(DerivedUnitSearchMode.ALL, stadion, 1, hour, -1)
+                        .contains(stadionPerHour));
+        List<FactorUnit> stadionPerHourFactors = stadionPerHour.getFactorUnits().getFactorUnits();
+        assertTrue(
+                context.unitsFromFactorUnits(DerivedUnitSearchMode.ALL, stadionPerHourFactors)
+                        .contains(stadionPerHour));
+        assertTrue(context.isUnitOfSystem(stadion, si));
+        assertTrue(context.isUnitOfSystem(kiloStadion, si));
+        // a new instance with the IRI of a unit of the model replaces it in all indexes
+        Definition replacementDefinition =
+                Unit.definition(kiloMetre.getIri())
+                        .id(kiloMetre.getId())
+                        .conversionMultiplier(kiloMetre.getConversionMultiplier().orElseThrow())
+                        .dimensionVectorIri(kiloMetre.getDimensionVectorIri().orElseThrow())
+                        .symbol(kiloMetre.getSymbol().orElseThrow())
+                        .prefix(kilo)
+                        .scalingOf(metre);
+        kiloMetre.getLabels().forEach(replacementDefinition::addLabel);
+        kiloMetre.getQuantityKinds().forEach(replacementDefinition::addQuantityKind);
+        kiloMetre.getUnitOfSystems().forEach(replacementDefinition::addSystemOfUnits);
+        Unit replacement = replacementDefinition.build();
+        context.addUnit(replacement);
+        context.addUnit(replacement);
+        assertSame(replacement, context.unitRequired(KiloM.getIri()));
+        assertSame(replacement, context.unitById(kiloMetre.getId()).orElseThrow());
+        assertTrue(
+                context.unitsBySymbol("km", false, false).stream()
+                        .anyMatch(u -> u == replacement));
+        assertTrue(
+                context.unitsBySymbol("km", false, false).stream()
+                        .noneMatch(u -> u == kiloMetre));
+        for (LangString label : kiloMetre.getLabels()) {
+            assertSame(replacement, context.unitFromLabel(label.getString()).orElseThrow());
+        }
+        assertSame(replacement, context.scale("Kilo", "Meter"));
+        assertSame(replacement, context.scale(kilo, metre));
+        List<Unit> scaledFromKiloMetre =
+                context.unitsFromUnitExponentPairs(DerivedUnitSearchMode.ALL, replacement, 1);
+        assertTrue(scaledFromKiloMetre.stream().anyMatch(u -> u == replacement));
+        assertTrue(scaledFromKiloMetre.stream().noneMatch(u -> u == kiloMetre));
+        assertTrue(context.isUnitOfSystem(replacement, si));
+    }
+
+    @Test
+    public void testParseUnitConcurrently() throws Exception {
+        List<String> inputs = List.of("m/s", "kg/m3", "°C", "km/h", "N m", "m²", "kg·m/s²");
+        Map<String, Set<Unit>> expected = new HashMap<>();
+        for (String input : inputs) {
+            expected.put(input, new UnitParser(input).parse());
+            assertEquals(expected.get(input), new UnitParser(input).parse());
+        }
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            // the parser is used directly, bypassing the parse cache
+            tasks.add(
+                    () -> {
+                        boolean allEqual = true;
+                        for (int round = 0; round < 20; round++) {
+                            for (String input : inputs) {
+                                allEqual &=
+                                        expected.get(input).equals(new UnitParser(input).parse());
+                            }
+                        }
+                        return allEqual;
+                    });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        List<Future<Boolean>> results;
+        try {
+            results = executor.invokeAll(tasks);
+        } finally {
+            executor.shutdownNow();
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+
     @Test
     public void testScaledUnit() {
         Unit unit = Qudt.scale("Nano", "Meter");
@@ -459,6 +798,43 @@ public class QudtTests {
                 Arguments.of(Units.KiloN, Units.N));
     }
 
+    @ParameterizedTest
+    @MethodSource
+    public void testBestScaledUnit(
+            String value, Unit unit, String expectedValue, Unit expectedUnit) {
+        QuantityValue scaled = Qudt.bestScaledUnit(new QuantityValue(new BigDecimal(value), unit));
+        assertEquals(expectedUnit, scaled.getUnit());
+        MatcherAssert.assertThat(
+                scaled.getValue(), Matchers.comparesEqualTo(new BigDecimal(expectedValue)));
+    }
+
+    public static Stream<Arguments> testBestScaledUnit() {
+        return Stream.of(
+                Arguments.of("1500", Units.M, "1.5", Units.KiloM),
+                Arguments.of("-2500", Units.M, "-2.5", Units.KiloM),
+                Arguments.of("5", Units.M, "5", Units.M),
+                Arguments.of("0.0005", Units.M, "500", Units.MicroM),
+                Arguments.of("12", Units.CentiM, "120", Units.MilliM),
+                Arguments.of("0.002", Units.KiloGM, "2", Units.GM),
+                Arguments.of("5000000", Units.MilliGM, "5", Units.KiloGM),
+                Arguments.of("0", Units.KiloM, "0", Units.KiloM),
+                Arguments.of("3600", Units.HR, "3600", Units.HR),
+                Arguments.of("0.000005", Units.M2, "5", Units.MilliM2),
+                Arguments.of("3000", Units.MilliM2, "3000", Units.MilliM2),
+                Arguments.of("0.000000007", Units.M3, "7", Units.MilliM3),
+                Arguments.of("2", Units.DeciM3, "2", Units.DeciM3));
+    }
+
+    @Test
+    public void testBestScaledUnit_systemOfUnits() {
+        QuantityValue scaled =
+                Qudt.bestScaledUnit(
+                        new QuantityValue(new BigDecimal("0.002"), Units.KiloGM),
+                        Qudt.SystemsOfUnits.SI);
+        assertEquals(Units.GM, scaled.getUnit());
+        MatcherAssert.assertThat(scaled.getValue(), Matchers.comparesEqualTo(new BigDecimal("2")));
+    }
+
     @Test
     public void testUnitless() {
         Assertions.assertEquals(
@@ -487,6 +863,114 @@ public class QudtTests {
                 () -> Qudt.convert(BigDecimal.ONE, Qudt.Units.SEC, Qudt.Units.M));
     }
 
+    @Test
+    public void testConverter_N_to_kN() {
+        UnitConverter converter = Qudt.converter(Qudt.Units.N, Qudt.Units.KiloN);
+        Assertions.assertFalse(converter.isIdentity());
+        MatcherAssert.assertThat(
+                converter.convert(BigDecimal.ONE),
+                Matchers.comparesEqualTo(new BigDecimal("0.001")));
+        MatcherAssert.assertThat(
+                converter.convert(new BigDecimal("2500")),
+                Matchers.comparesEqualTo(new BigDecimal("2.5")));
+        Assertions.assertEquals(
+                new QuantityValue(new BigDecimal("2.5"), Qudt.Units.KiloN),
+                converter.convertToQuantityValue(new BigDecimal("2500")));
+    }
+
+    @Test
+    public void testConverter_Celsius_to_Fahrenheit() {
+        UnitConverter converter = Qudt.converter(Units.DEG_C, Units.DEG_F);
+        MatcherAssert.assertThat(
+                converter.convert(new BigDecimal("100")),
+                Matchers.closeTo(new BigDecimal("212"), new BigDecimal("1E-30")));
+        MatcherAssert.assertThat(
+                Qudt.converter(Units.DEG_F, Units.DEG_C).convert(new BigDecimal("100")),
+                Matchers.closeTo(
+                        new BigDecimal("37.7777777777777777777777777777778"),
+                        new BigDecimal("1E-30")));
+    }
+
+    @Test
+    public void testConverter_Celsius_to_Fahrenheit_tempdiff() {
+        UnitConverter converter = Qudt.converter(DEG_C, DEG_F, TemperatureDifference);
+        MatcherAssert.assertThat(
+                converter.convert(new BigDecimal("100")),
+                Matchers.comparesEqualTo(new BigDecimal("180")));
+        MatcherAssert.assertThat(converter.getOffset(), Matchers.comparesEqualTo(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testConverter_identity() {
+        Assertions.assertTrue(Qudt.converter(Units.M, Units.M).isIdentity());
+        Assertions.assertTrue(Qudt.converter(Units.UNITLESS, Units.KiloGM__PER__M3).isIdentity());
+    }
+
+    @Test
+    public void testConvert_double() {
+        Assertions.assertEquals(0.001, Qudt.convert(1.0, Units.N, Units.KiloN), 1e-18);
+        Assertions.assertEquals(212.0, Qudt.convert(100.0, Units.DEG_C, Units.DEG_F), 1e-12);
+        Assertions.assertEquals(
+                180.0, Qudt.convert(100.0, DEG_C, DEG_F, TemperatureDifference), 1e-12);
+        Assertions.assertEquals(100.0, Qudt.convert(100.0, Units.M, Units.M));
+        Assertions.assertEquals(2.5, Qudt.converter(Units.N, Units.KiloN).convert(2500.0), 1e-15);
+        DoubleQuantityValue converted =
+                Qudt.convert(DoubleQuantityValue.of(1.0, Units.L), Units.GAL_US);
+        Assertions.assertEquals(Units.GAL_US, converted.getUnit());
+        Assertions.assertEquals(0.2641720523581484, converted.getValue(), 1e-15);
+        assertThrows(
+                InconvertibleQuantitiesException.class,
+                () -> Qudt.convert(1.0, Qudt.Units.SEC, Qudt.Units.M));
+    }
+
+    @Test
+    public void testConvert_double_errorBounds() {
+        List<Unit> units = List.of(Units.M, Units.KiloM, Units.FT, Units.MI, Units.IN);
+        double value = 123.456;
+        for (Unit from : units) {
+            for (Unit to : units) {
+                double converted = Qudt.convert(value, from, to);
+                BigDecimal exact = Qudt.convert(new BigDecimal(value), from, to);
+                Assertions.assertEquals(
+                        exact.doubleValue(), converted, 4 * Math.ulp(exact.doubleValue()));
+            }
+        }
+    }
+
+    @Test
+    public void testConvertAll_double() {
+        double[] src = new double[] {1, 2, 3, 4, 5};
+        double[] dst = new double[5];
+        Qudt.convertAll(src, 1, 3, Units.N, Units.KiloN, dst);
+        Assertions.assertArrayEquals(new double[] {0, 0.002, 0.003, 0.004, 0}, dst, 1e-18);
+        Qudt.convertAll(src, 0, src.length, DEG_C, DEG_F, TemperatureDifference, src);
+        Assertions.assertArrayEquals(new double[] {1.8, 3.6, 5.4, 7.2, 9.0}, src, 1e-12);
+        assertThrows(
+                IndexOutOfBoundsException.class,
+                () -> Qudt.convertAll(src, 3, 3, Units.N, Units.KiloN, dst));
+        assertThrows(
+                InconvertibleQuantitiesException.class,
+                () -> Qudt.convertAll(src, 0, 1, Units.SEC, Units.M, dst));
+    }
+
+    @Test
+    public void testConvertAll_BigDecimal() {
+        BigDecimal[] src = new BigDecimal[] {BigDecimal.ONE, new BigDecimal("100")};
+        BigDecimal[] dst = new BigDecimal[2];
+        Qudt.convertAll(src, 0, 2, Units.N, Units.KiloN, dst);
+        MatcherAssert.assertThat(dst[0], Matchers.comparesEqualTo(new BigDecimal("0.001")));
+        MatcherAssert.assertThat(dst[1], Matchers.comparesEqualTo(new BigDecimal("0.1")));
+        Qudt.convertAll(src, 1, 1, DEG_C, K, dst);
+        MatcherAssert.assertThat(dst[1], Matchers.comparesEqualTo(new BigDecimal("373.15")));
+    }
+
+    @Test
+    public void testConverter_inconvertible() {
+        assertThrows(
+                InconvertibleQuantitiesException.class,
+                () -> Qudt.converter(Qudt.Units.SEC, Qudt.Units.M));
+    }
+
     @Test
     public void testConvert_L_to_GAL_US() {
         BigDecimal converted = Qudt.convert(BigDecimal.ONE, Qudt.Units.L, Qudt.Units.GAL_US);
@@ -166,6 +166,32 @@ public class SystemOfUnitsTests {
                 Qudt.correspondingUnitInSystem(Qudt.Units.DEG, Qudt.SystemsOfUnits.SI).get());
     }
 
+    @Test
+    public void testIsUnitOfSystem() {
+        for (SystemOfUnits system : Qudt.allSystemsOfUnits()) {
+            Set<Unit> allowed = new HashSet<>();
+            for (Unit unit : Qudt.allUnits()) {
+                assertEquals(system.allowsUnit(unit), Qudt.isUnitOfSystem(unit, system));
+                if (system.allowsUnit(unit)) {
+                    allowed.add(unit);
+                }
+            }
+            assertEquals(allowed, Qudt.allUnitsOfSystem(system));
+        }
+    }
+
+    @Test
+    public void testCorrespondingUnitsInSystem_sameDimensionVector() {
+        List<Unit> forMetre = correspondingUnitsInSystem(Qudt.Units.M, SystemsOfUnits.IMPERIAL);
+        List<Unit> forKilometre =
+                correspondingUnitsInSystem(Qudt.Units.KiloM, SystemsOfUnits.IMPERIAL);
+        assertEquals(Set.copyOf(forMetre), Set.copyOf(forKilometre));
+        assertEquals(Qudt.Units.MI, forKilometre.get(0));
+        assertEquals(
+                forKilometre,
+                correspondingUnitsInSystem(Qudt.Units.KiloM, SystemsOfUnits.IMPERIAL));
+    }
+
     @Test
     @Disabled
     public void testCorrespondingSIUnitsForImperial() {
@@ -0,0 +1,90 @@
+package io.github.qudtlib;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.qudtlib.model.CacheStatistics;
+import io.github.qudtlib.model.QuantityKind;
+import io.github.qudtlib.model.Unit;
+import io.github.qudtlib.support.parse.UnitParseCache;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class UnitParseCacheTests {
+
+    @Test
+    public void testHitsAndMisses() {
+        UnitParseCache cache = new UnitParseCache(64, () -> 0);
+        Set<Unit> units = cache.parse("m/s", null);
+        assertTrue(units.contains(Qudt.Units.M__PER__SEC));
+        assertSame(units, cache.parse("m/s", null));
+        assertSame(units, cache.parse("m/s", null));
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getSize());
+        assertThrows(UnsupportedOperationException.class, () -> units.add(Qudt.Units.M));
+    }
+
+    @Test
+    public void testQuantityKindIsPartOfKey() {
+        UnitParseCache cache = new UnitParseCache(64, () -> 0);
+        cache.parse("m", null);
+        cache.parse("m", Qudt.QuantityKinds.Length);
+        cache.parse("m", Qudt.QuantityKinds.Length);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testModelChangeInvalidatesResults() {
+        AtomicLong modelVersion = new AtomicLong();
+        UnitParseCache cache = new UnitParseCache(64, modelVersion::get);
+        Set<Unit> units = cache.parse("km", null);
+        modelVersion.incrementAndGet();
+        Set<Unit> reparsed = cache.parse("km", null);
+        assertNotSame(units, reparsed);
+        assertEquals(units, reparsed);
+        assertSame(reparsed, cache.parse("km", null));
+        assertEquals(2, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    public void testResultIsNotCachedIfModelChangesWhileParsing() {
+        AtomicLong modelVersion = new AtomicLong();
+        UnitParseCache cache = new UnitParseCache(64, modelVersion::incrementAndGet);
+        cache.parse("km", null);
+        cache.parse("km", null);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        UnitParseCache cache = new UnitParseCache(16, () -> 0);
+        for (int i = 0; i < 40; i++) {
+            QuantityKind quantityKind =
+                    QuantityKind.definition("http://example.com/qk/QK" + i).build();
+            cache.parse("m", quantityKind);
+        }
+        assertTrue(cache.size() <= 16);
+        assertEquals(40 - cache.size(), cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testDisabledCache() {
+        UnitParseCache cache = new UnitParseCache(0, () -> 0);
+        assertEquals(cache.parse("m", null), cache.parse("m", null));
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getStatistics().getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> new UnitParseCache(8, () -> 0));
+    }
+
+    @Test
+    public void testQudtParseUnitIsCached() {
+        long hitsBefore = Qudt.getParseCacheStatistics().getHitCount();
+        Set<Unit> units = Qudt.parseUnit("kg/m3");
+        assertSame(units, Qudt.parseUnit("kg/m3"));
+        assertTrue(Qudt.getParseCacheStatistics().getHitCount() > hitsBefore);
+    }
+}
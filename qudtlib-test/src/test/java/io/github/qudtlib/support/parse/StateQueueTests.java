@@ -0,0 +1,52 @@
+package io.github.qudtlib.support.parse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StateQueueTests {
+
+    /* A state whose hash code is the same as that of every other instance. */
+    private static final class CollidingState extends State {
+        CollidingState(String input) {
+            super(input, StateTransition.UNIT);
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+    }
+
+    @Test
+    public void testEqualStatesAreExploredInTheOrderTheyWereAdded() {
+        StateQueue queue = new StateQueue();
+        List<State> added = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            State state = new CollidingState("km");
+            added.add(state);
+            queue.add(state);
+        }
+        assertEquals(added.size(), queue.size());
+        for (State state : added) {
+            assertSame(state, queue.poll());
+        }
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testBetterStatesAreExploredFirst() {
+        StateQueue queue = new StateQueue();
+        State worse = new CollidingState("kilometre");
+        State better = new CollidingState("km");
+        queue.add(worse);
+        queue.add(better);
+        queue.add(new CollidingState("km"));
+        assertSame(better, queue.poll());
+        assertEquals("km", queue.poll().getRemainingInput());
+        assertSame(worse, queue.poll());
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.qudtlib.vector;
+
+/**
+ * Applies the affine transformation {@code dst[i] = src[i] * multiplier + offset} to a range of
+ * array elements. Implementations must produce the same results as the scalar expression, so that
+ * the kernel in use is not observable.
+ */
+interface ConversionKernel {
+    void convert(
+            double[] src,
+            int srcOffset,
+            double[] dst,
+            int dstOffset,
+            int length,
+            double multiplier,
+            double offset);
+
+    void convert(
+            float[] src,
+            int srcOffset,
+            float[] dst,
+            int dstOffset,
+            int length,
+            float multiplier,
+            float offset);
+}
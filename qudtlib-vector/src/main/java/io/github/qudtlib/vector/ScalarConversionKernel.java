@@ -0,0 +1,32 @@
+package io.github.qudtlib.vector;
+
+/** Plain loop implementation of {@link ConversionKernel}, used if the Vector API is unavailable. */
+final class ScalarConversionKernel implements ConversionKernel {
+    @Override
+    public void convert(
+            double[] src,
+            int srcOffset,
+            double[] dst,
+            int dstOffset,
+            int length,
+            double multiplier,
+            double offset) {
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * multiplier + offset;
+        }
+    }
+
+    @Override
+    public void convert(
+            float[] src,
+            int srcOffset,
+            float[] dst,
+            int dstOffset,
+            int length,
+            float multiplier,
+            float offset) {
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * multiplier + offset;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.qudtlib.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ConversionKernel} using the Java Vector API. Multiplication and addition are done as two
+ * separate lanewise operations (not as fused multiply-add), so the results are identical to those
+ * of {@link ScalarConversionKernel}. The tail of the range that does not fill a whole vector is
+ * processed with scalar operations.
+ */
+final class VectorConversionKernel implements ConversionKernel {
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void convert(
+            double[] src,
+            int srcOffset,
+            double[] dst,
+            int dstOffset,
+            int length,
+            double multiplier,
+            double offset) {
+        int i = 0;
+        int upperBound = DOUBLE_SPECIES.loopBound(length);
+        for (; i < upperBound; i += DOUBLE_SPECIES.length()) {
+            DoubleVector.fromArray(DOUBLE_SPECIES, src, srcOffset + i)
+                    .mul(multiplier)
+                    .add(offset)
+                    .intoArray(dst, dstOffset + i);
+        }
+        for (; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * multiplier + offset;
+        }
+    }
+
+    @Override
+    public void convert(
+            float[] src,
+            int srcOffset,
+            float[] dst,
+            int dstOffset,
+            int length,
+            float multiplier,
+            float offset) {
+        int i = 0;
+        int upperBound = FLOAT_SPECIES.loopBound(length);
+        for (; i < upperBound; i += FLOAT_SPECIES.length()) {
+            FloatVector.fromArray(FLOAT_SPECIES, src, srcOffset + i)
+                    .mul(multiplier)
+                    .add(offset)
+                    .intoArray(dst, dstOffset + i);
+        }
+        for (; i < length; i++) {
+            dst[dstOffset + i] = src[srcOffset + i] * multiplier + offset;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.qudtlib.vector;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import io.github.qudtlib.model.QuantityKind;
+import io.github.qudtlib.model.Unit;
+import io.github.qudtlib.model.UnitConverter;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk conversion of <code>double[]</code> and <code>float[]</code> ranges between two units using
+ * the incubating Java Vector API (module <code>jdk.incubator.vector</code>).
+ *
+ * <p>The Vector API is only used if the module is resolved at runtime, i.e. if the JVM is started
+ * with <code>--add-modules jdk.incubator.vector</code>. Otherwise, a scalar loop is used. Both
+ * implementations yield identical results, which are the same as those of {@link
+ * UnitConverter#convert(double)}.
+ *
+ * <p>The <code>float[]</code> methods round the converter's multiplier and offset to {@code float}
+ * and compute in single precision, so their relative error is in the order of {@code 2^-23} (about
+ * 1.2e-7).
+ */
+public final class VectorUnitConversion {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL_CLASS =
+            "io.github.qudtlib.vector.VectorConversionKernel";
+    private static final ConversionKernel kernel = loadKernel();
+
+    private VectorUnitConversion() {}
+
+    private static ConversionKernel loadKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (ConversionKernel)
+                        Class.forName(VECTOR_KERNEL_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                Logger.getLogger(VectorUnitConversion.class.getName())
+                        .log(Level.FINE, "Cannot use the Vector API, falling back to scalar", e);
+            }
+        }
+        return new ScalarConversionKernel();
+    }
+
+    /**
+     * Indicates whether the conversions are executed using the Vector API or the scalar fallback.
+     *
+     * @return true if the Vector API is used
+     */
+    public static boolean isVectorized() {
+        return !(kernel instanceof ScalarConversionKernel);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>srcOffset</code>,
+     * using the specified <code>converter</code> and writes the results into <code>dst</code>,
+     * starting at <code>dstOffset</code>. The source and destination array may be the same if the
+     * offsets are equal.
+     *
+     * @param converter the converter to use
+     * @param src the values to convert
+     * @param srcOffset the index of the first value to convert
+     * @param dst the array receiving the converted values
+     * @param dstOffset the index in <code>dst</code> of the first converted value
+     * @param length the number of values to convert
+     * @throws IndexOutOfBoundsException if a range exceeds the bounds of its array
+     */
+    public static void convert(
+            UnitConverter converter,
+            double[] src,
+            int srcOffset,
+            double[] dst,
+            int dstOffset,
+            int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        if (converter.isIdentity()) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            return;
+        }
+        kernel.convert(
+                src,
+                srcOffset,
+                dst,
+                dstOffset,
+                length,
+                converter.getMultiplier().doubleValue(),
+                converter.getOffset().doubleValue());
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>srcOffset</code>,
+     * using the specified <code>converter</code> in single precision and writes the results into
+     * <code>dst</code>, starting at <code>dstOffset</code>. The source and destination array may be
+     * the same if the offsets are equal.
+     *
+     * @param converter the converter to use
+     * @param src the values to convert
+     * @param srcOffset the index of the first value to convert
+     * @param dst the array receiving the converted values
+     * @param dstOffset the index in <code>dst</code> of the first converted value
+     * @param length the number of values to convert
+     * @throws IndexOutOfBoundsException if a range exceeds the bounds of its array
+     */
+    public static void convert(
+            UnitConverter converter,
+            float[] src,
+            int srcOffset,
+            float[] dst,
+            int dstOffset,
+            int length) {
+        Objects.checkFromIndexSize(srcOffset, length, src.length);
+        Objects.checkFromIndexSize(dstOffset, length, dst.length);
+        if (converter.isIdentity()) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, length);
+            return;
+        }
+        kernel.convert(
+                src,
+                srcOffset,
+                dst,
+                dstOffset,
+                length,
+                converter.getMultiplier().floatValue(),
+                converter.getOffset().floatValue());
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code>, and writes the results at the same
+     * indices into <code>dst</code>.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            double[] src,
+            int offset,
+            int length,
+            Unit fromUnit,
+            Unit toUnit,
+            QuantityKind quantityKind,
+            double[] dst)
+            throws InconvertibleQuantitiesException {
+        convert(fromUnit.getConverter(toUnit, quantityKind), src, offset, dst, offset, length);
+    }
+
+    /**
+     * Converts <code>length</code> values of <code>src</code>, starting at <code>offset</code>,
+     * from <code>fromUnit</code> into <code>toUnit</code> in single precision, and writes the
+     * results into <code>dst</code> at the same indices.
+     *
+     * @param src the values to convert
+     * @param offset the index of the first value to convert
+     * @param length the number of values to convert
+     * @param fromUnit the unit of the values in <code>src</code>
+     * @param toUnit the target unit
+     * @param quantityKind optional quantity kind for handling edge cases (temperature difference)
+     * @param dst the array receiving the converted values
+     * @throws InconvertibleQuantitiesException if the conversion is not possible
+     * @throws IndexOutOfBoundsException if the range exceeds the bounds of either array
+     */
+    public static void convertAll(
+            float[] src,
+            int offset,
+            int length,
+            Unit fromUnit,
+            Unit toUnit,
+            QuantityKind quantityKind,
+            float[] dst)
+            throws InconvertibleQuantitiesException {
+        convert(fromUnit.getConverter(toUnit, quantityKind), src, offset, dst, offset, length);
+    }
+}
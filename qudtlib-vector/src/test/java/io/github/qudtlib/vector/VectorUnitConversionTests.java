@@ -0,0 +1,133 @@
+package io.github.qudtlib.vector;
+
+import static io.github.qudtlib.vector.VectorUnitConversion.convertAll;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import io.github.qudtlib.exception.InconvertibleQuantitiesException;
+import io.github.qudtlib.model.DimensionVector;
+import io.github.qudtlib.model.Unit;
+import io.github.qudtlib.model.UnitConverter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VectorUnitConversionTests {
+
+    private Unit meter;
+    private Unit foot;
+    private Unit kilogram;
+    private Unit kelvin;
+    private Unit celsius;
+    private double[] values;
+
+    @BeforeEach
+    void setUp() {
+        DimensionVector dvLength = DimensionVector.builder().length(1).build();
+        DimensionVector dvMass = DimensionVector.builder().mass(1).build();
+        DimensionVector dvTemperature = DimensionVector.builder().temperature(1).build();
+        meter =
+                Unit.definition("Meter")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .build();
+        foot =
+                Unit.definition("Foot")
+                        .conversionMultiplier(new BigDecimal("0.3048"))
+                        .dimensionVectorIri(dvLength.getDimensionVectorIri())
+                        .build();
+        kilogram =
+                Unit.definition("KiloGram")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvMass.getDimensionVectorIri())
+                        .build();
+        kelvin =
+                Unit.definition("Kelvin")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .dimensionVectorIri(dvTemperature.getDimensionVectorIri())
+                        .build();
+        celsius =
+                Unit.definition("DegreeCelsius")
+                        .conversionMultiplier(BigDecimal.ONE)
+                        .conversionOffset(new BigDecimal("273.15"))
+                        .dimensionVectorIri(dvTemperature.getDimensionVectorIri())
+                        .build();
+        Random random = new Random(42);
+        // odd length, so the scalar tail of the vector kernel is exercised as well
+        values = new double[1027];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (random.nextDouble() - 0.5) * 1e6;
+        }
+    }
+
+    @Test
+    void testConvertMatchesUnitConverter() {
+        UnitConverter footToMeter = foot.getConverter(meter);
+        UnitConverter celsiusToKelvin = celsius.getConverter(kelvin);
+        for (UnitConverter converter : List.of(footToMeter, celsiusToKelvin)) {
+            double[] dst = new double[values.length];
+            VectorUnitConversion.convert(converter, values, 0, dst, 0, values.length);
+            for (int i = 0; i < values.length; i++) {
+                assertThat(dst[i]).isEqualTo(converter.convert(values[i]));
+            }
+        }
+    }
+
+    @Test
+    void testKernelsAreIdentical() {
+        ConversionKernel scalarKernel = new ScalarConversionKernel();
+        ConversionKernel vectorKernel = new VectorConversionKernel();
+        double[] scalar = new double[values.length];
+        double[] vector = new double[values.length];
+        scalarKernel.convert(values, 3, scalar, 1, 1000, 0.3048, 273.15);
+        vectorKernel.convert(values, 3, vector, 1, 1000, 0.3048, 273.15);
+        assertThat(vector).isEqualTo(scalar);
+        float[] floatValues = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            floatValues[i] = (float) values[i];
+        }
+        float[] scalarFloats = new float[values.length];
+        float[] vectorFloats = new float[values.length];
+        scalarKernel.convert(floatValues, 0, scalarFloats, 0, values.length, 0.3048f, 273.15f);
+        vectorKernel.convert(floatValues, 0, vectorFloats, 0, values.length, 0.3048f, 273.15f);
+        assertThat(vectorFloats).isEqualTo(scalarFloats);
+    }
+
+    @Test
+    void testConvertAllInPlace() {
+        double[] src = new double[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        convertAll(src, 1, 9, celsius, kelvin, null, src);
+        assertThat(src[0]).isEqualTo(0.0);
+        assertThat(src[1]).isCloseTo(274.15, within(1e-12));
+        assertThat(src[9]).isCloseTo(282.15, within(1e-12));
+        assertThat(src[10]).isEqualTo(10.0);
+    }
+
+    @Test
+    void testConvertAllFloat() {
+        float[] src = new float[] {1, 10, 100};
+        float[] dst = new float[3];
+        convertAll(src, 0, 3, foot, meter, null, dst);
+        assertThat(dst[0]).isCloseTo(0.3048f, within(1e-6f));
+        assertThat(dst[2]).isCloseTo(30.48f, within(1e-4f));
+    }
+
+    @Test
+    void testIdentity() {
+        double[] dst = new double[values.length];
+        convertAll(values, 0, values.length, meter, meter, null, dst);
+        assertThat(dst).isEqualTo(values);
+    }
+
+    @Test
+    void testErrors() {
+        double[] dst = new double[2];
+        assertThatThrownBy(() -> convertAll(values, 0, 2, meter, kilogram, null, dst))
+                .isInstanceOf(InconvertibleQuantitiesException.class);
+        assertThatThrownBy(() -> convertAll(values, 0, 3, foot, meter, null, dst))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}